@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2022 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.springstarter.localechange.benchmark;
+
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import jakarta.annotation.Nonnull;
+import jakarta.servlet.http.Cookie;
+import org.springframework.context.support.StaticMessageSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import com.yookue.springstarter.localechange.property.LocaleChangeProperties;
+
+
+/**
+ * Fixtures for benchmarks
+ *
+ * @author David Hsing
+ */
+public abstract class BenchmarkFixtures {
+    public static final String COOKIE_NAME = "LocaleResolver.LOCALE";    // $NON-NLS-1$
+    public static final String PARAM_NAME = "lang";    // $NON-NLS-1$
+
+    private static final String[] LANGUAGE_TAGS = {
+        "en-US", "zh-CN", "zh-TW", "ja-JP", "ko-KR", "de-DE", "fr-FR", "es-ES", "it-IT", "pt-BR",    // $NON-NLS-1$
+        "ru-RU", "ar-SA", "hi-IN", "th-TH", "vi-VN", "id-ID", "nl-NL", "pl-PL", "tr-TR", "sv-SE"    // $NON-NLS-1$
+    };
+
+    @Nonnull
+    public static LocaleChangeProperties newProperties(int tagCount, boolean multilingual) {
+        LocaleChangeProperties properties = new LocaleChangeProperties();
+        Map<String, String> tagNames = new LinkedHashMap<>();
+        for (int i = 0; i < Math.min(tagCount, LANGUAGE_TAGS.length); i++) {
+            String tag = LANGUAGE_TAGS[i];
+            tagNames.put(tag, multilingual ? "locale-change." + tag : Locale.forLanguageTag(tag).getDisplayName(Locale.ENGLISH));    // $NON-NLS-1$
+        }
+        properties.getModelAndView().setTagNames(tagNames);
+        properties.getModelAndView().setTagMultilingual(multilingual);
+        return properties;
+    }
+
+    @Nonnull
+    public static StaticMessageSource newMessageSource(@Nonnull LocaleChangeProperties properties) {
+        StaticMessageSource result = new StaticMessageSource();
+        for (String tag : properties.getModelAndView().getTagNames().keySet()) {
+            Locale locale = Locale.forLanguageTag(tag);
+            for (String code : properties.getModelAndView().getTagNames().values()) {
+                result.addMessage(code, locale, code + '@' + tag);
+            }
+        }
+        return result;
+    }
+
+    @Nonnull
+    public static MockHttpServletRequest newRequest(boolean cookiePresent, boolean paramPresent) {
+        MockHttpServletRequest result = new MockHttpServletRequest("GET", "/index");    // $NON-NLS-1$
+        result.addPreferredLocale(Locale.US);
+        if (cookiePresent) {
+            result.setCookies(new Cookie(COOKIE_NAME, "zh-CN"));    // $NON-NLS-1$
+        }
+        if (paramPresent) {
+            result.setParameter(PARAM_NAME, "zh-TW");    // $NON-NLS-1$
+        }
+        return result;
+    }
+}
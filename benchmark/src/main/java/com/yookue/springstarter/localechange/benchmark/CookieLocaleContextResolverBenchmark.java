@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2022 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.springstarter.localechange.benchmark;
+
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.i18n.LocaleContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.servlet.i18n.CookieLocaleResolver;
+import com.yookue.springstarter.localechange.resolver.CookieLocaleContextResolver;
+
+
+/**
+ * Benchmarks for {@link com.yookue.springstarter.localechange.resolver.CookieLocaleContextResolver}
+ *
+ * @author David Hsing
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1)
+public class CookieLocaleContextResolverBenchmark {
+    @Param(value = {"true", "false"})
+    private boolean cookiePresent;
+
+    @Param(value = {"true", "false"})
+    private boolean paramPresent;
+
+    private CookieLocaleContextResolver resolver;
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setup() {
+        resolver = new CookieLocaleContextResolver(BenchmarkFixtures.COOKIE_NAME);
+        resolver.setParamName(BenchmarkFixtures.PARAM_NAME);
+        request = BenchmarkFixtures.newRequest(cookiePresent, paramPresent);
+    }
+
+    @Benchmark
+    public LocaleContext resolveLocaleContext() {
+        request.removeAttribute(CookieLocaleContextResolver.LOCALE_CONTEXT_ATTRIBUTE);
+        request.removeAttribute(CookieLocaleResolver.LOCALE_REQUEST_ATTRIBUTE_NAME);
+        return resolver.resolveLocaleContext(request);
+    }
+
+    @Benchmark
+    public LocaleContext resolveLocaleContextMemorized() {
+        return resolver.resolveLocaleContext(request);
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2022 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.springstarter.localechange.benchmark;
+
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.i18n.CookieLocaleResolver;
+import com.yookue.springstarter.localechange.filter.CookieLocaleRequestContextFilter;
+import com.yookue.springstarter.localechange.property.LocaleChangeProperties;
+import com.yookue.springstarter.localechange.resolver.CookieLocaleContextResolver;
+
+
+/**
+ * Benchmarks for {@link com.yookue.springstarter.localechange.filter.CookieLocaleRequestContextFilter}
+ *
+ * @author David Hsing
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1)
+public class CookieLocaleRequestContextFilterBenchmark {
+    @Param(value = {"true", "false"})
+    private boolean cookiePresent;
+
+    @Param(value = {"true", "false"})
+    private boolean paramPresent;
+
+    @Param(value = {"true", "false"})
+    private boolean resolverPresent;
+
+    private CookieLocaleRequestContextFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private final FilterChain chain = (req, res) -> req.getAttribute(BenchmarkFixtures.PARAM_NAME);
+
+    @Setup
+    public void setup() {
+        LocaleChangeProperties properties = BenchmarkFixtures.newProperties(3, false);
+        filter = new CookieLocaleRequestContextFilter(properties);
+        filter.setCookieName(BenchmarkFixtures.COOKIE_NAME);
+        if (resolverPresent) {
+            CookieLocaleContextResolver resolver = new CookieLocaleContextResolver(BenchmarkFixtures.COOKIE_NAME);
+            resolver.setParamName(BenchmarkFixtures.PARAM_NAME);
+            filter.setLocaleResolver(resolver);
+        }
+        request = BenchmarkFixtures.newRequest(cookiePresent, paramPresent);
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public void doFilterInternal() throws ServletException, IOException {
+        request.removeAttribute(CookieLocaleContextResolver.LOCALE_CONTEXT_ATTRIBUTE);
+        request.removeAttribute(CookieLocaleResolver.LOCALE_REQUEST_ATTRIBUTE_NAME);
+        filter.doFilter(request, response, chain);
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2022 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.springstarter.localechange.benchmark;
+
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import jakarta.annotation.Nonnull;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.i18n.LocaleChangeInterceptor;
+import com.yookue.springstarter.localechange.interceptor.LocaleChangeParamInterceptor;
+import com.yookue.springstarter.localechange.interceptor.LocaleChangeViewInterceptor;
+import com.yookue.springstarter.localechange.property.LocaleChangeProperties;
+import com.yookue.springstarter.localechange.resolver.CookieLocaleContextResolver;
+
+
+/**
+ * Benchmarks for {@link com.yookue.springstarter.localechange.interceptor.LocaleChangeViewInterceptor} and {@link org.springframework.web.servlet.i18n.LocaleChangeInterceptor}
+ *
+ * @author David Hsing
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1)
+public class LocaleChangeInterceptorBenchmark {
+    @Param(value = {"1", "5", "20"})
+    private int tagCount;
+
+    @Param(value = {"true", "false"})
+    private boolean tagMultilingual;
+
+    @Param(value = {"true", "false"})
+    private boolean paramPresent;
+
+    private LocaleChangeViewInterceptor viewInterceptor;
+    private LocaleChangeInterceptor localeInterceptor;
+    private CookieLocaleContextResolver localeResolver;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private ModelAndView view;
+    private final Object handler = new Object();
+
+    @Setup
+    public void setup() {
+        LocaleChangeProperties properties = BenchmarkFixtures.newProperties(tagCount, tagMultilingual);
+        viewInterceptor = new LocaleChangeViewInterceptor(properties);
+        viewInterceptor.setMessageSource(BenchmarkFixtures.newMessageSource(properties));
+        localeInterceptor = new LocaleChangeParamInterceptor();
+        localeInterceptor.setParamName(BenchmarkFixtures.PARAM_NAME);
+        localeResolver = new CookieLocaleContextResolver(BenchmarkFixtures.COOKIE_NAME);
+        request = BenchmarkFixtures.newRequest(true, paramPresent);
+        request.setAttribute(DispatcherServlet.LOCALE_RESOLVER_ATTRIBUTE, localeResolver);
+        response = new MockHttpServletResponse();
+        view = new ModelAndView("index");    // $NON-NLS-1$
+        LocaleContextHolder.setLocale(Locale.SIMPLIFIED_CHINESE);
+    }
+
+    @TearDown
+    public void tearDown() {
+        LocaleContextHolder.resetLocaleContext();
+    }
+
+    @Benchmark
+    public ModelAndView viewPostHandle() {
+        viewInterceptor.postHandle(request, response, handler, view);
+        return view;
+    }
+
+    @Benchmark
+    public boolean localePreHandle(@Nonnull Exchange exchange) throws ServletException {
+        return localeInterceptor.preHandle(exchange.request, exchange.response, handler);
+    }
+
+
+    /**
+     * The request and response of an invocation, which are created per invocation,
+     * so that neither the {@code Set-Cookie} headers nor the memorized locale context of the resolver accumulate across invocations
+     */
+    @State(Scope.Thread)
+    public static class Exchange {
+        private MockHttpServletRequest request;
+        private MockHttpServletResponse response;
+
+        @Setup(Level.Invocation)
+        public void setup(@Nonnull LocaleChangeInterceptorBenchmark benchmark) {
+            request = BenchmarkFixtures.newRequest(true, benchmark.paramPresent);
+            request.setAttribute(DispatcherServlet.LOCALE_RESOLVER_ATTRIBUTE, benchmark.localeResolver);
+            response = new MockHttpServletResponse();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2022 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.springstarter.localechange.benchmark;
+
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import com.yookue.springstarter.localechange.support.LocaleChangeTagObserver;
+
+
+/**
+ * Benchmarks for {@link com.yookue.springstarter.localechange.support.LocaleChangeTagObserver}
+ *
+ * @author David Hsing
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1)
+public class LocaleChangeTagObserverBenchmark {
+    @Param(value = {"1", "5", "20"})
+    private int tagCount;
+
+    private LocaleChangeTagObserver observer;
+    private final Locale supported = Locale.US;
+    private final Locale unsupported = Locale.forLanguageTag("fi-FI");    // $NON-NLS-1$
+    private final Locale[] comparisons = {Locale.SIMPLIFIED_CHINESE, Locale.TRADITIONAL_CHINESE, Locale.US};
+
+    @Setup
+    public void setup() {
+        observer = new LocaleChangeTagObserver(BenchmarkFixtures.newProperties(tagCount, false));
+    }
+
+    @Benchmark
+    public boolean containsSupported() {
+        return observer.contains(supported);
+    }
+
+    @Benchmark
+    public boolean containsUnsupported() {
+        return observer.contains(unsupported);
+    }
+
+    @Benchmark
+    public String getLanguageName() {
+        return observer.getLanguageName(supported);
+    }
+
+    @Benchmark
+    public boolean equalsAny() {
+        return observer.equalsAny(supported, comparisons);
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2022 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.springstarter.localechange.advice;
+
+
+import java.util.Locale;
+import java.util.Map;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.MessageSource;
+import org.springframework.context.MessageSourceAware;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.server.ServerWebExchange;
+import com.yookue.springstarter.localechange.event.MessageSourceReloadedEvent;
+import com.yookue.springstarter.localechange.property.LocaleChangeProperties;
+import com.yookue.springstarter.localechange.support.LocaleChangeSnapshot;
+import com.yookue.springstarter.localechange.support.LocaleChangeSnapshotHolder;
+import com.yookue.springstarter.localechange.support.LocaleTagNamesResolver;
+
+
+/**
+ * {@link org.springframework.web.bind.annotation.ControllerAdvice} for adding tag names to reactive views
+ * <p>
+ * The reactive counterpart of {@link com.yookue.springstarter.localechange.interceptor.LocaleChangeViewInterceptor}
+ *
+ * @author David Hsing
+ */
+@ControllerAdvice
+@SuppressWarnings("unused")
+public class LocaleChangeViewModelAdvice implements MessageSourceAware, ApplicationListener<MessageSourceReloadedEvent> {
+    private final LocaleChangeSnapshotHolder snapshotHolder;
+    private final LocaleTagNamesResolver tagNamesResolver;
+
+    public LocaleChangeViewModelAdvice(@Nonnull LocaleChangeProperties properties) {
+        this(new LocaleChangeSnapshotHolder(properties));
+    }
+
+    public LocaleChangeViewModelAdvice(@Nonnull LocaleChangeSnapshotHolder snapshotHolder) {
+        this.snapshotHolder = snapshotHolder;
+        this.tagNamesResolver = new LocaleTagNamesResolver(snapshotHolder);
+    }
+
+    @Override
+    public void setMessageSource(@Nullable MessageSource messageSource) {
+        tagNamesResolver.setMessageSource(messageSource);
+    }
+
+    @Override
+    public void onApplicationEvent(@Nonnull MessageSourceReloadedEvent event) {
+        tagNamesResolver.clearSnapshots();
+    }
+
+    @ModelAttribute
+    public void addTagNames(@Nonnull ServerWebExchange exchange, @Nonnull Model model) {
+        LocaleChangeSnapshot snapshot = snapshotHolder.get();
+        String attribute = snapshot.getViewAttribute();
+        if (StringUtils.isBlank(attribute) || exchange.getLocaleContext().getLocale() == null) {
+            return;
+        }
+        String path = exchange.getRequest().getPath().pathWithinApplication().value();
+        if (!snapshot.getViewInterceptMatcher().matches(path) || snapshot.getViewExcludeMatcher().matches(path)) {
+            return;
+        }
+        Map<String, String> tagNames = getTagNamesSnapshot(exchange.getLocaleContext().getLocale());
+        if (tagNames != null) {
+            model.addAttribute(attribute, tagNames);
+        }
+    }
+
+    /**
+     * Returns the tag names of the locale, the translated ones are immutable and shared by all requests of the same locale
+     */
+    @Nullable
+    public Map<String, String> getTagNamesSnapshot(@Nonnull Locale locale) {
+        return tagNamesResolver.resolveTagNames(locale);
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2022 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.springstarter.localechange.aot;
+
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.boot.context.properties.bind.BindableRuntimeHintsRegistrar;
+import org.springframework.util.ClassUtils;
+import com.yookue.springstarter.localechange.property.LocaleChangeProperties;
+import com.yookue.springstarter.localechange.support.LocaleChangeTagObserver;
+import com.yookue.springstarter.localechange.support.LocaleTagRegistry;
+
+
+/**
+ * {@link org.springframework.aot.hint.RuntimeHintsRegistrar} for locale change
+ * <p>
+ * Registers the binding hints of the properties, and the reflection hints of the thymeleaf dialect and expression objects, for native images
+ *
+ * @author David Hsing
+ */
+public class LocaleChangeRuntimeHints implements RuntimeHintsRegistrar {
+    private static final String THYMELEAF_CLASS = "org.thymeleaf.Thymeleaf";    // $NON-NLS-1$
+    private static final String DIALECT_CLASS = "com.yookue.springstarter.localechange.dialect.LocaleChangeThymeleafDialect";    // $NON-NLS-1$
+    private static final String FACTORY_CLASS = "com.yookue.springstarter.localechange.factory.LocaleChangeExpressionFactory";    // $NON-NLS-1$
+
+    @Override
+    public void registerHints(@Nonnull RuntimeHints hints, @Nullable ClassLoader classLoader) {
+        BindableRuntimeHintsRegistrar.forTypes(LocaleChangeProperties.class).registerHints(hints, classLoader);
+        if (!ClassUtils.isPresent(THYMELEAF_CLASS, classLoader)) {
+            return;
+        }
+        hints.reflection().registerType(TypeReference.of(DIALECT_CLASS), MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+        hints.reflection().registerType(TypeReference.of(FACTORY_CLASS), MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+        // Expression objects are invoked by the template expressions reflectively
+        hints.reflection().registerType(LocaleChangeTagObserver.class, MemberCategory.INVOKE_PUBLIC_METHODS);
+        hints.reflection().registerType(LocaleTagRegistry.class, MemberCategory.INVOKE_PUBLIC_METHODS);
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2022 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.springstarter.localechange.config;
+
+
+import jakarta.annotation.Nonnull;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import com.yookue.springstarter.localechange.enumeration.TaskDecoratorType;
+import com.yookue.springstarter.localechange.interceptor.LocaleContextCallableInterceptor;
+import com.yookue.springstarter.localechange.property.LocaleChangeProperties;
+import com.yookue.springstarter.localechange.support.LocaleContextTaskDecorator;
+import lombok.RequiredArgsConstructor;
+
+
+/**
+ * Configuration of async propagation for locale change
+ * <p>
+ * The locale context of a request is bound to the threads of async {@code Callable}s. Optionally, the tasks of the auto-configured executors (such as the MVC async executor)
+ * are decorated by the {@link org.springframework.core.task.TaskDecorator} of {@code async-propagation.task-decorator}, if there is no other one
+ *
+ * @author David Hsing
+ * @see com.yookue.springstarter.localechange.interceptor.LocaleContextCallableInterceptor
+ * @see com.yookue.springstarter.localechange.support.LocaleContextTaskDecorator
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = LocaleChangeViewConfiguration.PROPERTIES_PREFIX, name = "enabled", havingValue = "true", matchIfMissing = true)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequiredArgsConstructor
+public class LocaleChangeAsyncConfiguration implements WebMvcConfigurer {
+    public static final String PROPERTIES_PREFIX = LocaleChangeViewConfiguration.PROPERTIES_PREFIX + ".async-propagation";    // $NON-NLS-1$
+    public static final String CALLABLE_INTERCEPTOR = "localeContextCallableInterceptor";    // $NON-NLS-1$
+    public static final String TASK_DECORATOR = "localeContextTaskDecorator";    // $NON-NLS-1$
+    private static final String CONTEXT_REGISTRY_CLASS = "io.micrometer.context.ContextRegistry";    // $NON-NLS-1$
+    private final ObjectProvider<LocaleContextCallableInterceptor> callableInterceptor;
+
+    @Bean(name = CALLABLE_INTERCEPTOR)
+    @ConditionalOnProperty(prefix = PROPERTIES_PREFIX, name = "enabled", havingValue = "true", matchIfMissing = true)
+    @ConditionalOnMissingBean
+    public LocaleContextCallableInterceptor localeContextCallableInterceptor() {
+        return new LocaleContextCallableInterceptor();
+    }
+
+    /**
+     * Decorates the tasks of the auto-configured executors and schedulers, which applies to the whole application, so it is opt-in
+     *
+     * @see com.yookue.springstarter.localechange.config.LocaleChangePropagationConfiguration
+     */
+    @Bean(name = TASK_DECORATOR)
+    @ConditionalOnProperty(prefix = PROPERTIES_PREFIX, name = "task-decorator")
+    @ConditionalOnMissingBean(value = TaskDecorator.class)
+    public TaskDecorator localeContextTaskDecorator(@Nonnull LocaleChangeProperties properties) {
+        if (properties.getAsyncPropagation().getTaskDecorator() == TaskDecoratorType.CONTEXT_PROPAGATION) {
+            Assert.state(ClassUtils.isPresent(CONTEXT_REGISTRY_CLASS, null), "Task decorator of context-propagation requires io.micrometer:context-propagation");
+            return new ContextPropagatingTaskDecorator();
+        }
+        return new LocaleContextTaskDecorator();
+    }
+
+    @Override
+    public void configureAsyncSupport(@Nonnull AsyncSupportConfigurer configurer) {
+        callableInterceptor.ifUnique(interceptor -> configurer.registerCallableInterceptors(interceptor));
+    }
+}
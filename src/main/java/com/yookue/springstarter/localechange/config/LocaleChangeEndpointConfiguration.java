@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2022 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.springstarter.localechange.config;
+
+
+import jakarta.annotation.Nonnull;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import com.yookue.springstarter.localechange.endpoint.LocaleChangeEndpoint;
+import com.yookue.springstarter.localechange.metrics.LocaleUsageStatistics;
+import com.yookue.springstarter.localechange.support.LocaleChangeSnapshotHolder;
+
+
+/**
+ * Configuration of actuator endpoint for locale change
+ *
+ * @author David Hsing
+ * @see com.yookue.springstarter.localechange.endpoint.LocaleChangeEndpoint
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = LocaleChangeViewConfiguration.PROPERTIES_PREFIX, name = "enabled", havingValue = "true", matchIfMissing = true)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnClass(value = Endpoint.class)
+@ConditionalOnAvailableEndpoint(endpoint = LocaleChangeEndpoint.class)
+public class LocaleChangeEndpointConfiguration {
+    public static final String USAGE_STATISTICS = "localeUsageStatistics";    // $NON-NLS-1$
+    public static final String ENDPOINT = "localeChangeEndpoint";    // $NON-NLS-1$
+
+    @Bean(name = USAGE_STATISTICS)
+    @ConditionalOnMissingBean
+    public LocaleUsageStatistics localeUsageStatistics(@Nonnull LocaleChangeSnapshotHolder snapshotHolder) {
+        LocaleUsageStatistics statistics = new LocaleUsageStatistics(snapshotHolder.get().getTagRegistry());
+        snapshotHolder.addListener(snapshot -> statistics.setTagRegistry(snapshot.getTagRegistry()));
+        return statistics;
+    }
+
+    @Bean(name = ENDPOINT)
+    @ConditionalOnMissingBean
+    public LocaleChangeEndpoint localeChangeEndpoint(@Nonnull LocaleUsageStatistics statistics) {
+        return new LocaleChangeEndpoint(statistics);
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2022 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.springstarter.localechange.config;
+
+
+import java.util.Optional;
+import jakarta.annotation.Nonnull;
+import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.lang3.BooleanUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.LocaleResolver;
+import com.yookue.commonplexus.javaseutil.util.CollectionPlainWraps;
+import com.yookue.springstarter.localechange.enumeration.LocaleResolverType;
+import com.yookue.springstarter.localechange.filter.LocaleVariantHeaderFilter;
+import com.yookue.springstarter.localechange.property.LocaleChangeProperties;
+
+
+/**
+ * Configuration of locale variant http headers for locale change
+ *
+ * @author David Hsing
+ * @see com.yookue.springstarter.localechange.filter.LocaleVariantHeaderFilter
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = LocaleChangeViewConfiguration.PROPERTIES_PREFIX, name = "enabled", havingValue = "true", matchIfMissing = true)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@AutoConfigureAfter(value = LocaleChangeResolverConfiguration.class)
+@EnableConfigurationProperties(value = LocaleChangeProperties.class)
+public class LocaleChangeHeaderConfiguration {
+    public static final String PROPERTIES_PREFIX = LocaleChangeViewConfiguration.PROPERTIES_PREFIX + ".variant-headers";    // $NON-NLS-1$
+    public static final String VARIANT_HEADER_FILTER = "localeVariantHeaderFilter";    // $NON-NLS-1$
+
+    @Bean(name = VARIANT_HEADER_FILTER)
+    @ConditionalOnProperty(prefix = PROPERTIES_PREFIX, name = "enabled", havingValue = "true")
+    @ConditionalOnMissingBean(name = VARIANT_HEADER_FILTER)
+    public FilterRegistrationBean<LocaleVariantHeaderFilter> localeVariantHeaderFilter(@Nonnull LocaleChangeProperties properties, @Nonnull ObjectProvider<LocaleResolver> localeResolver) {
+        LocaleChangeProperties.VariantHeaders props = properties.getVariantHeaders();
+        LocaleVariantHeaderFilter filter = new LocaleVariantHeaderFilter();
+        if (BooleanUtils.isTrue(props.getVaryHeader())) {
+            filter.setVaryHeaders(determineVaryHeaders(properties));
+        }
+        filter.setContentLanguage(BooleanUtils.isTrue(props.getContentLanguage()));
+        filter.setLocaleEtag(BooleanUtils.isTrue(props.getLocaleEtag()));
+        filter.setWriteWeakETag(BooleanUtils.isTrue(props.getWeakEtag()));
+        localeResolver.ifUnique(filter::setLocaleResolver);
+        FilterRegistrationBean<LocaleVariantHeaderFilter> result = new FilterRegistrationBean<>(filter);
+        result.setName(VARIANT_HEADER_FILTER);
+        Optional.ofNullable(props.getFilterOrder()).ifPresent(result::setOrder);
+        CollectionPlainWraps.ifNotEmpty(props.getFilterPaths(), result::setUrlPatterns);
+        return result;
+    }
+
+    /**
+     * Returns the request header names that the locale resolver consults
+     * <p>
+     * The request parameter is not listed, since it is a part of the url that identifies the cache entries already
+     */
+    @Nonnull
+    private String[] determineVaryHeaders(@Nonnull LocaleChangeProperties properties) {
+        LocaleResolverType type = Optional.ofNullable(properties.getLocaleResolverType()).orElse(LocaleResolverType.COOKIE);
+        return switch (type) {
+            case COOKIE -> (properties.getCookieLocaleResolver().getDefaultLocale() == null) ? new String[]{HttpHeaders.COOKIE, HttpHeaders.ACCEPT_LANGUAGE} : new String[]{HttpHeaders.COOKIE};
+            case SESSION -> (properties.getSessionLocaleResolver().getDefaultLocale() == null) ? new String[]{HttpHeaders.COOKIE, HttpHeaders.ACCEPT_LANGUAGE} : new String[]{HttpHeaders.COOKIE};
+            case ACCEPT_HEADER -> new String[]{HttpHeaders.ACCEPT_LANGUAGE};
+            default -> ArrayUtils.EMPTY_STRING_ARRAY;
+        };
+    }
+}
@@ -17,9 +17,16 @@
 package com.yookue.springstarter.localechange.config;
 
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
 import org.apache.commons.lang3.BooleanUtils;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
@@ -27,14 +34,19 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.util.Assert;
+import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistration;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import org.springframework.web.servlet.i18n.LocaleChangeInterceptor;
 import com.yookue.commonplexus.javaseutil.constant.AssertMessageConst;
-import com.yookue.commonplexus.javaseutil.util.CollectionPlainWraps;
 import com.yookue.commonplexus.javaseutil.util.StringUtilsWraps;
+import com.yookue.springstarter.localechange.interceptor.ExcludableHandlerInterceptor;
+import com.yookue.springstarter.localechange.interceptor.LocaleChangeFusedInterceptor;
+import com.yookue.springstarter.localechange.interceptor.LocaleChangeParamInterceptor;
+import com.yookue.springstarter.localechange.interceptor.LocaleChangeViewInterceptor;
 import com.yookue.springstarter.localechange.property.LocaleChangeProperties;
+import com.yookue.springstarter.localechange.support.LocaleChangeSnapshotHolder;
 import lombok.RequiredArgsConstructor;
 
 
@@ -50,6 +62,8 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class LocaleChangeInterceptorConfiguration implements WebMvcConfigurer {
     private final LocaleChangeProperties properties;
+    private final LocaleChangeSnapshotHolder snapshotHolder;
+    private final ObjectProvider<LocaleChangeViewInterceptor> viewInterceptor;
 
     /**
      * Usage:
@@ -64,10 +78,11 @@ public class LocaleChangeInterceptorConfiguration implements WebMvcConfigurer {
     @ConditionalOnMissingBean
     @SuppressWarnings({"JavadocDeclaration", "JavadocLinkAsPlainText"})
     public LocaleChangeInterceptor localeChangeInterceptor() {
-        LocaleChangeInterceptor interceptor = new LocaleChangeInterceptor();
+        LocaleChangeParamInterceptor interceptor = new LocaleChangeParamInterceptor();
         LocaleChangeProperties.LocaleInterceptor props = properties.getLocaleInterceptor();
         StringUtilsWraps.ifNotBlank(props.getParamName(), interceptor::setParamName);
         interceptor.setIgnoreInvalidLocale(BooleanUtils.isTrue(props.getIgnoreInvalidLocale()));
+        interceptor.setSnapshotHolder(snapshotHolder);
         return interceptor;
     }
 
@@ -75,8 +90,42 @@ public class LocaleChangeInterceptorConfiguration implements WebMvcConfigurer {
     public void addInterceptors(@Nonnull InterceptorRegistry registry) {
         LocaleChangeProperties.LocaleInterceptor props = properties.getLocaleInterceptor();
         Assert.notEmpty(props.getInterceptPaths(), AssertMessageConst.NOT_EMPTY);
-        InterceptorRegistration registration = registry.addInterceptor(localeChangeInterceptor()).addPathPatterns(props.getInterceptPaths());
+        HandlerInterceptor interceptor = localeChangeInterceptor();
+        LocaleChangeViewInterceptor fusible = getFusibleViewInterceptor(properties, viewInterceptor);
+        if (fusible != null) {
+            interceptor = new LocaleChangeFusedInterceptor(interceptor, fusible);
+        }
+        interceptor = new ExcludableHandlerInterceptor(interceptor, () -> snapshotHolder.get().getLocaleExcludeMatcher());
+        InterceptorRegistration registration = registry.addInterceptor(interceptor).addPathPatterns(props.getInterceptPaths());
         Optional.ofNullable(props.getInterceptorOrder()).ifPresent(registration::order);
-        CollectionPlainWraps.ifNotEmpty(props.getExcludePaths(), element -> registration.excludePathPatterns(element));
+    }
+
+    /**
+     * Returns whether the locale change interceptor and the view interceptor have the same path patterns and order
+     * <p>
+     * If so, they are registered as one {@link com.yookue.springstarter.localechange.interceptor.LocaleChangeFusedInterceptor} by this configuration
+     */
+    public static boolean isInterceptorFusible(@Nonnull LocaleChangeProperties properties) {
+        LocaleChangeProperties.LocaleInterceptor localeProps = properties.getLocaleInterceptor();
+        LocaleChangeProperties.ModelAndView viewProps = properties.getModelAndView();
+        return Objects.equals(localeProps.getInterceptorOrder(), viewProps.getInterceptorOrder())
+            && Objects.equals(toPathSet(localeProps.getInterceptPaths()), toPathSet(viewProps.getInterceptPaths()))
+            && Objects.equals(toPathSet(localeProps.getExcludePaths()), toPathSet(viewProps.getExcludePaths()));
+    }
+
+    /**
+     * Returns the view interceptor that is fused into the locale change interceptor by this configuration, or {@code null} if not fused
+     * <p>
+     * The view interceptor is fused only if the interceptors are fusible and there is a unique view interceptor bean,
+     * otherwise {@link com.yookue.springstarter.localechange.config.LocaleChangeViewConfiguration} registers the view interceptors
+     */
+    @Nullable
+    public static LocaleChangeViewInterceptor getFusibleViewInterceptor(@Nonnull LocaleChangeProperties properties, @Nonnull ObjectProvider<LocaleChangeViewInterceptor> viewInterceptors) {
+        return isInterceptorFusible(properties) ? viewInterceptors.getIfUnique() : null;
+    }
+
+    @Nonnull
+    private static Set<String> toPathSet(@Nullable Collection<String> paths) {
+        return (paths == null) ? Collections.emptySet() : new HashSet<>(paths);
     }
 }
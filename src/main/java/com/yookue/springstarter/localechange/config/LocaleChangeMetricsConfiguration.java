@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2022 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.springstarter.localechange.config;
+
+
+import jakarta.annotation.Nonnull;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import com.yookue.springstarter.localechange.metrics.MicrometerLocaleResolutionRecorder;
+import com.yookue.springstarter.localechange.property.LocaleChangeProperties;
+import com.yookue.springstarter.localechange.support.LocaleChangeSnapshotHolder;
+import com.yookue.springstarter.localechange.support.LocaleResolutionRecorder;
+import io.micrometer.core.instrument.MeterRegistry;
+
+
+/**
+ * Configuration of metrics for locale change
+ *
+ * @author David Hsing
+ * @see com.yookue.springstarter.localechange.metrics.MicrometerLocaleResolutionRecorder
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = LocaleChangeViewConfiguration.PROPERTIES_PREFIX, name = "enabled", havingValue = "true", matchIfMissing = true)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnClass(value = MeterRegistry.class)
+@ConditionalOnBean(value = MeterRegistry.class)
+@AutoConfigureAfter(name = "org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration")    // $NON-NLS-1$
+@EnableConfigurationProperties(value = LocaleChangeProperties.class)
+public class LocaleChangeMetricsConfiguration {
+    public static final String RESOLUTION_RECORDER = "localeResolutionRecorder";    // $NON-NLS-1$
+
+    @Bean(name = RESOLUTION_RECORDER)
+    @ConditionalOnMissingBean(name = RESOLUTION_RECORDER)
+    public LocaleResolutionRecorder localeResolutionRecorder(@Nonnull MeterRegistry registry, @Nonnull LocaleChangeSnapshotHolder snapshotHolder) {
+        MicrometerLocaleResolutionRecorder recorder = new MicrometerLocaleResolutionRecorder(registry, snapshotHolder.get().getTagRegistry().getLocales());
+        snapshotHolder.addListener(snapshot -> recorder.setSupportedLocales(snapshot.getTagRegistry().getLocales()));
+        return recorder;
+    }
+}
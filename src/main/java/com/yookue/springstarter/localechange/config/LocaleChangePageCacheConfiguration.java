@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2022 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.springstarter.localechange.config;
+
+
+import java.time.Duration;
+import java.util.Optional;
+import jakarta.annotation.Nonnull;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.boot.web.servlet.filter.OrderedFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.LocaleResolver;
+import com.yookue.springstarter.localechange.filter.LocalePageCacheFilter;
+import com.yookue.springstarter.localechange.property.LocaleChangeProperties;
+import com.yookue.springstarter.localechange.support.LocaleChangeSnapshotHolder;
+import com.yookue.springstarter.localechange.support.LocalePageCache;
+import com.yookue.springstarter.localechange.support.PathExclusionMatcher;
+
+
+/**
+ * Configuration of per-locale page cache for locale change
+ *
+ * @author David Hsing
+ * @see com.yookue.springstarter.localechange.filter.LocalePageCacheFilter
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = LocaleChangeViewConfiguration.PROPERTIES_PREFIX, name = "enabled", havingValue = "true", matchIfMissing = true)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@AutoConfigureAfter(value = LocaleChangeResolverConfiguration.class)
+@EnableConfigurationProperties(value = LocaleChangeProperties.class)
+public class LocaleChangePageCacheConfiguration {
+    public static final String PROPERTIES_PREFIX = LocaleChangeViewConfiguration.PROPERTIES_PREFIX + ".page-cache";    // $NON-NLS-1$
+    public static final String PAGE_CACHE = "localePageCache";    // $NON-NLS-1$
+    public static final String PAGE_CACHE_FILTER = "localePageCacheFilter";    // $NON-NLS-1$
+
+    /**
+     * Right after the security filter chain (which is {@code REQUEST_WRAPPER_FILTER_MAX_ORDER - 100}), so the principal is known, and before the other filters of the application
+     */
+    public static final int DEFAULT_FILTER_ORDER = OrderedFilter.REQUEST_WRAPPER_FILTER_MAX_ORDER - 90;
+
+    @Bean(name = PAGE_CACHE)
+    @ConditionalOnProperty(prefix = PROPERTIES_PREFIX, name = "enabled", havingValue = "true")
+    @ConditionalOnMissingBean
+    public LocalePageCache localePageCache(@Nonnull LocaleChangeProperties properties, @Nonnull LocaleChangeSnapshotHolder snapshotHolder) {
+        LocaleChangeProperties.PageCache props = properties.getPageCache();
+        int maxEntries = Optional.ofNullable(props.getMaxEntries()).filter(size -> size > 0).orElse(256);
+        Duration timeToLive = Optional.ofNullable(props.getTimeToLive()).filter(duration -> !duration.isNegative() && !duration.isZero()).orElse(Duration.ofMinutes(5L));
+        LocalePageCache result = new LocalePageCache(maxEntries, timeToLive);
+        snapshotHolder.addListener(snapshot -> result.clear());
+        return result;
+    }
+
+    @Bean(name = PAGE_CACHE_FILTER)
+    @ConditionalOnProperty(prefix = PROPERTIES_PREFIX, name = "enabled", havingValue = "true")
+    @ConditionalOnMissingBean(name = PAGE_CACHE_FILTER)
+    public FilterRegistrationBean<LocalePageCacheFilter> localePageCacheFilter(@Nonnull LocaleChangeProperties properties, @Nonnull LocalePageCache pageCache, @Nonnull LocaleChangeSnapshotHolder snapshotHolder, @Nonnull ObjectProvider<LocaleResolver> localeResolver) {
+        LocaleChangeProperties.PageCache props = properties.getPageCache();
+        LocalePageCacheFilter filter = new LocalePageCacheFilter(pageCache);
+        filter.setCacheMatcher(PathExclusionMatcher.compile(props.getCachePaths()));
+        filter.setExcludeMatcher(PathExclusionMatcher.compile(props.getExcludePaths()));
+        Optional.ofNullable(props.getMaxBodySize()).map(DataSize::toBytes).map(size -> (int) Math.min(size, Integer.MAX_VALUE)).ifPresent(filter::setMaxBodySize);
+        filter.setSnapshotHolder(snapshotHolder);
+        localeResolver.ifUnique(filter::setLocaleResolver);
+        FilterRegistrationBean<LocalePageCacheFilter> result = new FilterRegistrationBean<>(filter);
+        result.setName(PAGE_CACHE_FILTER);
+        result.setOrder(Optional.ofNullable(props.getFilterOrder()).orElse(DEFAULT_FILTER_ORDER));
+        return result;
+    }
+}
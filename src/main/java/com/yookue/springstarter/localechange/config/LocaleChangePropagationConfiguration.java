@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2022 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.springstarter.localechange.config;
+
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.i18n.LocaleContextThreadLocalAccessor;
+import io.micrometer.context.ContextRegistry;
+
+
+/**
+ * Configuration of context propagation for locale change
+ * <p>
+ * Registers the {@code ThreadLocalAccessor} of {@link org.springframework.context.i18n.LocaleContextHolder}
+ * to the global {@link io.micrometer.context.ContextRegistry}, when {@code async-propagation.context-registry} is {@code true},
+ * so the locale context can be captured explicitly, instead of being copied to every child thread by inheritable thread locals.
+ * The request attributes are not registered, since they are recycled with the request, which may complete before the tasks
+ *
+ * @author David Hsing
+ * @see io.micrometer.context.ContextSnapshot
+ * @see com.yookue.springstarter.localechange.config.LocaleChangeAsyncConfiguration
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = LocaleChangeViewConfiguration.PROPERTIES_PREFIX, name = "enabled", havingValue = "true", matchIfMissing = true)
+@ConditionalOnWebApplication
+@ConditionalOnClass(value = ContextRegistry.class)
+@Import(value = LocaleChangePropagationConfiguration.Registry.class)
+public class LocaleChangePropagationConfiguration {
+    @ConditionalOnProperty(prefix = LocaleChangeAsyncConfiguration.PROPERTIES_PREFIX, name = "context-registry", havingValue = "true")
+    static class Registry implements InitializingBean {
+        @Override
+        public void afterPropertiesSet() {
+            ContextRegistry registry = ContextRegistry.getInstance();
+            registry.registerThreadLocalAccessor(new LocaleContextThreadLocalAccessor());
+        }
+    }
+}
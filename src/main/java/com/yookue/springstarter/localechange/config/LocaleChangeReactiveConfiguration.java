@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2022 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.springstarter.localechange.config;
+
+
+import java.util.Optional;
+import jakarta.annotation.Nonnull;
+import org.apache.commons.lang3.BooleanUtils;
+import org.springframework.boot.autoconfigure.AutoConfigureBefore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.web.reactive.WebFluxAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.DispatcherHandler;
+import org.springframework.web.server.adapter.WebHttpHandlerBuilder;
+import org.springframework.web.server.i18n.LocaleContextResolver;
+import com.yookue.commonplexus.javaseutil.util.StringUtilsWraps;
+import com.yookue.springstarter.localechange.advice.LocaleChangeViewModelAdvice;
+import com.yookue.springstarter.localechange.filter.CookieLocaleWebFilter;
+import com.yookue.springstarter.localechange.property.LocaleChangeProperties;
+import com.yookue.springstarter.localechange.resolver.CookieLocaleWebContextResolver;
+import com.yookue.springstarter.localechange.support.CanonicalLocaleParser;
+import com.yookue.springstarter.localechange.support.LocaleChangeSnapshotHolder;
+
+
+/**
+ * Configuration of reactive web for locale change
+ *
+ * @author David Hsing
+ * @see org.springframework.boot.autoconfigure.web.reactive.WebFluxAutoConfiguration.EnableWebFluxConfiguration#localeContextResolver
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = LocaleChangeViewConfiguration.PROPERTIES_PREFIX, name = "enabled", havingValue = "true", matchIfMissing = true)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@ConditionalOnClass(value = DispatcherHandler.class)
+@AutoConfigureBefore(value = WebFluxAutoConfiguration.class)
+@EnableConfigurationProperties(value = LocaleChangeProperties.class)
+public class LocaleChangeReactiveConfiguration {
+    public static final String WEB_FILTER = "localeChangeWebFilter";    // $NON-NLS-1$
+    public static final String VIEW_ADVICE = "localeChangeViewModelAdvice";    // $NON-NLS-1$
+
+    /**
+     * @see org.springframework.web.server.i18n.AcceptHeaderLocaleContextResolver
+     */
+    @Bean(name = WebHttpHandlerBuilder.LOCALE_CONTEXT_RESOLVER_BEAN_NAME)
+    @ConditionalOnProperty(prefix = LocaleChangeViewConfiguration.PROPERTIES_PREFIX, name = "locale-resolver-type", havingValue = "cookie", matchIfMissing = true)
+    @ConditionalOnMissingBean(name = WebHttpHandlerBuilder.LOCALE_CONTEXT_RESOLVER_BEAN_NAME)
+    public LocaleContextResolver localeContextResolver(@Nonnull LocaleChangeProperties properties, @Nonnull LocaleChangeSnapshotHolder snapshotHolder) {
+        LocaleChangeProperties.CookieLocaleResolver props = properties.getCookieLocaleResolver();
+        int cacheSize = Optional.ofNullable(props.getParseCacheSize()).filter(size -> size > 0).orElse(CanonicalLocaleParser.DEFAULT_CACHE_SIZE);
+        CookieLocaleWebContextResolver resolver = new CookieLocaleWebContextResolver(props.getCookieName(), cacheSize);
+        StringUtilsWraps.ifNotBlank(properties.getLocaleInterceptor().getParamName(), resolver::setParamName);
+        StringUtilsWraps.ifNotBlank(props.getCookiePath(), resolver::setCookiePath);
+        StringUtilsWraps.ifNotBlank(props.getCookieDomain(), resolver::setCookieDomain);
+        Optional.ofNullable(props.getMaxAge()).ifPresent(resolver::setCookieMaxAge);
+        resolver.setCookieHttpOnly(BooleanUtils.isTrue(props.getHttpOnly()));
+        resolver.setCookieSecure(BooleanUtils.isTrue(props.getSecureProtocol()));
+        Optional.ofNullable(props.getDefaultLocale()).ifPresent(resolver::setDefaultLocale);
+        Optional.ofNullable(props.getDefaultTimeZone()).ifPresent(resolver::setDefaultTimeZone);
+        resolver.setSnapshotHolder(snapshotHolder);
+        resolver.setLocaleNegotiation(BooleanUtils.isTrue(props.getLocaleNegotiation()));
+        resolver.setWriteAvoidance(BooleanUtils.isTrue(props.getWriteAvoidance()));
+        snapshotHolder.addListener(snapshot -> resolver.getLocaleParser().clear());
+        return resolver;
+    }
+
+    @Bean(name = WEB_FILTER)
+    @ConditionalOnMissingBean
+    public CookieLocaleWebFilter localeChangeWebFilter(@Nonnull LocaleChangeProperties properties, @Nonnull LocaleChangeSnapshotHolder snapshotHolder) {
+        LocaleChangeProperties.CookieLocaleFilter props = properties.getCookieLocaleFilter();
+        CookieLocaleWebFilter filter = new CookieLocaleWebFilter();
+        filter.setSnapshotHolder(snapshotHolder);
+        Optional.ofNullable(props.getFilerOrder()).ifPresent(filter::setOrder);
+        return filter;
+    }
+
+    @Bean(name = VIEW_ADVICE)
+    @ConditionalOnMissingBean
+    public LocaleChangeViewModelAdvice localeChangeViewModelAdvice(@Nonnull LocaleChangeSnapshotHolder snapshotHolder) {
+        return new LocaleChangeViewModelAdvice(snapshotHolder);
+    }
+}
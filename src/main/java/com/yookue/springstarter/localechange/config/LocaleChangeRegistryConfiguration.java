@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2022 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.springstarter.localechange.config;
+
+
+import jakarta.annotation.Nonnull;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import com.yookue.springstarter.localechange.aot.LocaleChangeRuntimeHints;
+import com.yookue.springstarter.localechange.property.LocaleChangeProperties;
+import com.yookue.springstarter.localechange.support.LocaleChangeSnapshotHolder;
+import com.yookue.springstarter.localechange.support.LocaleChangeSnapshotRefresher;
+import com.yookue.springstarter.localechange.support.LocaleTagRegistry;
+
+
+/**
+ * Configuration of {@link com.yookue.springstarter.localechange.support.LocaleChangeSnapshotHolder} and {@link com.yookue.springstarter.localechange.support.LocaleTagRegistry} for locale change
+ *
+ * @author David Hsing
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = LocaleChangeViewConfiguration.PROPERTIES_PREFIX, name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(value = LocaleChangeProperties.class)
+@ImportRuntimeHints(value = LocaleChangeRuntimeHints.class)
+public class LocaleChangeRegistryConfiguration {
+    public static final String SNAPSHOT_HOLDER = "localeChangeSnapshotHolder";    // $NON-NLS-1$
+    public static final String SNAPSHOT_REFRESHER = "localeChangeSnapshotRefresher";    // $NON-NLS-1$
+    public static final String TAG_REGISTRY = "localeTagRegistry";    // $NON-NLS-1$
+
+    @Bean(name = SNAPSHOT_HOLDER)
+    @ConditionalOnMissingBean
+    public LocaleChangeSnapshotHolder localeChangeSnapshotHolder(@Nonnull LocaleChangeProperties properties) {
+        return new LocaleChangeSnapshotHolder(properties);
+    }
+
+    @Bean(name = SNAPSHOT_REFRESHER)
+    @ConditionalOnMissingBean
+    public LocaleChangeSnapshotRefresher localeChangeSnapshotRefresher(@Nonnull LocaleChangeSnapshotHolder snapshotHolder) {
+        return new LocaleChangeSnapshotRefresher(snapshotHolder);
+    }
+
+    /**
+     * Returns the registry of the startup snapshot, the current one is {@code LocaleChangeSnapshotHolder.get().getTagRegistry()}
+     */
+    @Bean(name = TAG_REGISTRY)
+    @ConditionalOnMissingBean
+    public LocaleTagRegistry localeTagRegistry(@Nonnull LocaleChangeSnapshotHolder snapshotHolder) {
+        return snapshotHolder.get().getTagRegistry();
+    }
+}
@@ -20,24 +20,29 @@ package com.yookue.springstarter.localechange.config;
 import java.util.Optional;
 import jakarta.annotation.Nonnull;
 import org.apache.commons.lang3.BooleanUtils;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.AutoConfigureBefore;
 import org.springframework.boot.autoconfigure.AutoConfigureOrder;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
 import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.boot.web.servlet.filter.OrderedFilter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
 import org.springframework.web.filter.RequestContextFilter;
 import org.springframework.web.servlet.DispatcherServlet;
 import org.springframework.web.servlet.LocaleContextResolver;
+import org.springframework.web.servlet.LocaleResolver;
 import org.springframework.web.servlet.i18n.FixedLocaleResolver;
 import org.springframework.web.servlet.i18n.SessionLocaleResolver;
 import com.yookue.commonplexus.javaseutil.util.CollectionPlainWraps;
@@ -45,8 +50,15 @@ import com.yookue.commonplexus.javaseutil.util.MapPlainWraps;
 import com.yookue.commonplexus.javaseutil.util.StringUtilsWraps;
 import com.yookue.commonplexus.springutil.constant.SpringBeanConst;
 import com.yookue.springstarter.localechange.filter.CookieLocaleRequestContextFilter;
+import com.yookue.springstarter.localechange.filter.PathLocaleRequestFilter;
 import com.yookue.springstarter.localechange.property.LocaleChangeProperties;
+import com.yookue.springstarter.localechange.resolver.AcceptHeaderLocaleContextResolver;
 import com.yookue.springstarter.localechange.resolver.CookieLocaleContextResolver;
+import com.yookue.springstarter.localechange.resolver.HostLocaleContextResolver;
+import com.yookue.springstarter.localechange.resolver.PathLocaleContextResolver;
+import com.yookue.springstarter.localechange.resolver.SessionLocaleContextResolver;
+import com.yookue.springstarter.localechange.support.LocaleChangeSnapshotHolder;
+import com.yookue.springstarter.localechange.support.LocaleResolutionRecorder;
 
 
 /**
@@ -60,7 +72,7 @@ import com.yookue.springstarter.localechange.resolver.CookieLocaleContextResolve
 @AutoConfigureAfter(value = DispatcherServletAutoConfiguration.class)
 @AutoConfigureBefore(value = WebMvcAutoConfiguration.class)
 @AutoConfigureOrder(value = Ordered.HIGHEST_PRECEDENCE + 8)
-@Import(value = {LocaleChangeResolverConfiguration.Entry.class, LocaleChangeResolverConfiguration.Cookie.class, LocaleChangeResolverConfiguration.Session.class, LocaleChangeResolverConfiguration.Fixed.class})
+@Import(value = {LocaleChangeResolverConfiguration.Entry.class, LocaleChangeResolverConfiguration.Cookie.class, LocaleChangeResolverConfiguration.Session.class, LocaleChangeResolverConfiguration.Fixed.class, LocaleChangeResolverConfiguration.AcceptHeader.class, LocaleChangeResolverConfiguration.Path.class, LocaleChangeResolverConfiguration.Host.class})
 public class LocaleChangeResolverConfiguration {
     @Order(value = 0)
     @EnableConfigurationProperties(value = LocaleChangeProperties.class)
@@ -76,12 +88,17 @@ public class LocaleChangeResolverConfiguration {
          */
         @Bean
         @ConditionalOnMissingBean(name = SpringBeanConst.REQUEST_CONTEXT_FILTER)
-        public FilterRegistrationBean<RequestContextFilter> requestContextFilterRegistration(@Nonnull LocaleChangeProperties properties) {
+        public FilterRegistrationBean<RequestContextFilter> requestContextFilterRegistration(@Nonnull LocaleChangeProperties properties, @Nonnull LocaleChangeSnapshotHolder snapshotHolder, @Nonnull Environment environment, @Nonnull ObjectProvider<LocaleResolver> localeResolver, @Nonnull ObjectProvider<LocaleResolutionRecorder> resolutionRecorder) {
             CookieLocaleRequestContextFilter filter = new CookieLocaleRequestContextFilter(properties);
             LocaleChangeProperties.CookieLocaleFilter filterProps = properties.getCookieLocaleFilter();
             LocaleChangeProperties.CookieLocaleResolver resolverProps = properties.getCookieLocaleResolver();
-            filter.setThreadLocaleInheritable(BooleanUtils.isTrue(filterProps.getThreadInheritable()));
+            filter.setThreadLocaleInheritable(Optional.ofNullable(filterProps.getThreadInheritable()).orElseGet(() -> !Threading.VIRTUAL.isActive(environment)));
+            filter.setSnapshotHolder(snapshotHolder);
             StringUtilsWraps.ifNotBlank(resolverProps.getCookieName(), filter::setCookieName);
+            if (localeResolver.getIfUnique() instanceof CookieLocaleContextResolver resolver) {
+                filter.setLocaleResolver(resolver);
+            }
+            filter.setRecorder(LocaleResolutionRecorder.compose(resolutionRecorder.orderedStream().toList()));
             FilterRegistrationBean<RequestContextFilter> result = new FilterRegistrationBean<>(filter);
             result.setName(SpringBeanConst.REQUEST_CONTEXT_FILTER);
             Optional.ofNullable(filterProps.getFilerOrder()).ifPresent(result::setOrder);
@@ -96,10 +113,12 @@ public class LocaleChangeResolverConfiguration {
         @Bean(name = DispatcherServlet.LOCALE_RESOLVER_BEAN_NAME)
         @ConditionalOnProperty(prefix = LocaleChangeViewConfiguration.PROPERTIES_PREFIX + ".cookie-locale-resolver", name = "cookie-name")
         @ConditionalOnMissingBean(name = DispatcherServlet.LOCALE_RESOLVER_BEAN_NAME)
-        public LocaleContextResolver localeContextResolver(@Nonnull LocaleChangeProperties properties) {
-            CookieLocaleContextResolver resolver = new CookieLocaleContextResolver(properties.getCookieLocaleResolver().getCookieName());
-            resolver.setParamName(properties.getLocaleInterceptor().getParamName());
+        public LocaleContextResolver localeContextResolver(@Nonnull LocaleChangeProperties properties, @Nonnull LocaleChangeSnapshotHolder snapshotHolder, @Nonnull ObjectProvider<LocaleResolutionRecorder> resolutionRecorder) {
             LocaleChangeProperties.CookieLocaleResolver props = properties.getCookieLocaleResolver();
+            int cacheSize = Optional.ofNullable(props.getParseCacheSize()).filter(size -> size > 0).orElse(CookieLocaleContextResolver.DEFAULT_PARSE_CACHE_SIZE);
+            CookieLocaleContextResolver resolver = new CookieLocaleContextResolver(props.getCookieName(), cacheSize);
+            resolver.setParamName(properties.getLocaleInterceptor().getParamName());
+            resolver.setSnapshotHolder(snapshotHolder);
             StringUtilsWraps.ifNotBlank(props.getCookiePath(), resolver::setCookiePath);
             StringUtilsWraps.ifNotBlank(props.getCookieDomain(), resolver::setCookieDomain);
             Optional.ofNullable(props.getMaxAge()).ifPresent(resolver::setCookieMaxAge);
@@ -108,6 +127,16 @@ public class LocaleChangeResolverConfiguration {
             resolver.setRejectInvalidCookies(BooleanUtils.isTrue(props.getRejectInvalid()));
             Optional.ofNullable(props.getDefaultLocale()).ifPresent(resolver::setDefaultLocale);
             Optional.ofNullable(props.getDefaultTimeZone()).ifPresent(resolver::setDefaultTimeZone);
+            StringUtilsWraps.ifNotBlank(props.getTimeZoneParamName(), resolver::setTimeZoneParamName);
+            StringUtilsWraps.ifNotBlank(props.getTimeZoneHeaderName(), resolver::setTimeZoneHeaderName);
+            resolver.setLocaleNegotiation(BooleanUtils.isTrue(props.getLocaleNegotiation()));
+            resolver.setWriteAvoidance(BooleanUtils.isTrue(props.getWriteAvoidance()));
+            resolver.precomputeCookieHeaders(snapshotHolder.get().getTagRegistry().getLocales());
+            snapshotHolder.addListener(snapshot -> {
+                resolver.getLocaleParser().clear();
+                resolver.precomputeCookieHeaders(snapshot.getTagRegistry().getLocales());
+            });
+            resolver.setRecorder(LocaleResolutionRecorder.compose(resolutionRecorder.orderedStream().toList()));
             return resolver;
         }
     }
@@ -118,12 +147,21 @@ public class LocaleChangeResolverConfiguration {
     static class Session {
         /**
          * @see org.springframework.web.servlet.i18n.SessionLocaleResolver
+         * @see com.yookue.springstarter.localechange.resolver.SessionLocaleContextResolver
          */
         @Bean(name = DispatcherServlet.LOCALE_RESOLVER_BEAN_NAME)
         @ConditionalOnMissingBean(name = DispatcherServlet.LOCALE_RESOLVER_BEAN_NAME)
         public LocaleContextResolver localeContextResolver(@Nonnull LocaleChangeProperties properties) {
-            SessionLocaleResolver resolver = new SessionLocaleResolver();
             LocaleChangeProperties.SessionLocaleResolver props = properties.getSessionLocaleResolver();
+            if (BooleanUtils.isTrue(props.getWriteAvoidance())) {
+                SessionLocaleContextResolver resolver = new SessionLocaleContextResolver();
+                StringUtilsWraps.ifNotBlank(props.getSessionName(), resolver::setLocaleAttributeName);
+                StringUtilsWraps.ifNotBlank(props.getTimezoneName(), resolver::setTimeZoneAttributeName);
+                Optional.ofNullable(props.getDefaultLocale()).ifPresent(resolver::setDefaultLocale);
+                Optional.ofNullable(props.getDefaultTimeZone()).ifPresent(resolver::setDefaultTimeZone);
+                return resolver;
+            }
+            SessionLocaleResolver resolver = new SessionLocaleResolver();
             StringUtilsWraps.ifNotBlank(props.getSessionName(), resolver::setLocaleAttributeName);
             StringUtilsWraps.ifNotBlank(props.getTimezoneName(), resolver::setTimeZoneAttributeName);
             Optional.ofNullable(props.getDefaultLocale()).ifPresent(resolver::setDefaultLocale);
@@ -149,4 +187,84 @@ public class LocaleChangeResolverConfiguration {
             return resolver;
         }
     }
+
+
+    @Order(value = 4)
+    @ConditionalOnProperty(prefix = LocaleChangeViewConfiguration.PROPERTIES_PREFIX, name = "locale-resolver-type", havingValue = "accept-header")
+    static class AcceptHeader {
+        /**
+         * @see com.yookue.springstarter.localechange.resolver.AcceptHeaderLocaleContextResolver
+         */
+        @Bean(name = DispatcherServlet.LOCALE_RESOLVER_BEAN_NAME)
+        @ConditionalOnMissingBean(name = DispatcherServlet.LOCALE_RESOLVER_BEAN_NAME)
+        public LocaleContextResolver localeContextResolver(@Nonnull LocaleChangeProperties properties, @Nonnull LocaleChangeSnapshotHolder snapshotHolder, @Nonnull ObjectProvider<LocaleResolutionRecorder> resolutionRecorder) {
+            LocaleChangeProperties.AcceptHeaderLocaleResolver props = properties.getAcceptHeaderLocaleResolver();
+            int cacheSize = Optional.ofNullable(props.getCacheSize()).filter(size -> size > 0).orElse(AcceptHeaderLocaleContextResolver.DEFAULT_CACHE_SIZE);
+            AcceptHeaderLocaleContextResolver resolver = new AcceptHeaderLocaleContextResolver(snapshotHolder.get().getTagRegistry().getLocales(), cacheSize);
+            snapshotHolder.addListener(snapshot -> resolver.setSupportedLocales(snapshot.getTagRegistry().getLocales()));
+            Optional.ofNullable(props.getDefaultLocale()).ifPresent(resolver::setDefaultLocale);
+            Optional.ofNullable(props.getDefaultTimeZone()).ifPresent(resolver::setDefaultTimeZone);
+            resolver.setRecorder(LocaleResolutionRecorder.compose(resolutionRecorder.orderedStream().toList()));
+            return resolver;
+        }
+    }
+
+
+    @Order(value = 5)
+    @ConditionalOnProperty(prefix = LocaleChangeViewConfiguration.PROPERTIES_PREFIX, name = "locale-resolver-type", havingValue = "path")
+    static class Path {
+        public static final String PATH_LOCALE_FILTER = "pathLocaleRequestFilter";    // $NON-NLS-1$
+
+        /**
+         * @see com.yookue.springstarter.localechange.resolver.PathLocaleContextResolver
+         */
+        @Bean(name = DispatcherServlet.LOCALE_RESOLVER_BEAN_NAME)
+        @ConditionalOnMissingBean(name = DispatcherServlet.LOCALE_RESOLVER_BEAN_NAME)
+        public LocaleContextResolver localeContextResolver(@Nonnull LocaleChangeProperties properties, @Nonnull LocaleChangeSnapshotHolder snapshotHolder, @Nonnull ObjectProvider<LocaleResolutionRecorder> resolutionRecorder) {
+            return buildResolver(properties, snapshotHolder, resolutionRecorder);
+        }
+
+        /**
+         * @see com.yookue.springstarter.localechange.filter.PathLocaleRequestFilter
+         */
+        @Bean(name = PATH_LOCALE_FILTER)
+        @ConditionalOnMissingBean(name = PATH_LOCALE_FILTER)
+        public FilterRegistrationBean<PathLocaleRequestFilter> pathLocaleRequestFilter(@Nonnull LocaleChangeProperties properties, @Nonnull LocaleChangeSnapshotHolder snapshotHolder, @Nonnull ObjectProvider<LocaleResolver> localeResolver, @Nonnull ObjectProvider<LocaleResolutionRecorder> resolutionRecorder) {
+            PathLocaleContextResolver resolver = (localeResolver.getIfUnique() instanceof PathLocaleContextResolver instance) ? instance : buildResolver(properties, snapshotHolder, resolutionRecorder);
+            FilterRegistrationBean<PathLocaleRequestFilter> result = new FilterRegistrationBean<>(new PathLocaleRequestFilter(resolver));
+            result.setName(PATH_LOCALE_FILTER);
+            result.setOrder(Optional.ofNullable(properties.getPathLocaleResolver().getFilterOrder()).orElse(OrderedFilter.REQUEST_WRAPPER_FILTER_MAX_ORDER - 104));
+            return result;
+        }
+
+        @Nonnull
+        private static PathLocaleContextResolver buildResolver(@Nonnull LocaleChangeProperties properties, @Nonnull LocaleChangeSnapshotHolder snapshotHolder, @Nonnull ObjectProvider<LocaleResolutionRecorder> resolutionRecorder) {
+            LocaleChangeProperties.PathLocaleResolver props = properties.getPathLocaleResolver();
+            PathLocaleContextResolver resolver = new PathLocaleContextResolver(snapshotHolder.get().getTagRegistry());
+            snapshotHolder.addListener(snapshot -> resolver.setTagRegistry(snapshot.getTagRegistry()));
+            Optional.ofNullable(props.getDefaultLocale()).ifPresent(resolver::setDefaultLocale);
+            Optional.ofNullable(props.getDefaultTimeZone()).ifPresent(resolver::setDefaultTimeZone);
+            resolver.setRecorder(LocaleResolutionRecorder.compose(resolutionRecorder.orderedStream().toList()));
+            return resolver;
+        }
+    }
+
+
+    @Order(value = 6)
+    @ConditionalOnProperty(prefix = LocaleChangeViewConfiguration.PROPERTIES_PREFIX, name = "locale-resolver-type", havingValue = "host")
+    static class Host {
+        /**
+         * @see com.yookue.springstarter.localechange.resolver.HostLocaleContextResolver
+         */
+        @Bean(name = DispatcherServlet.LOCALE_RESOLVER_BEAN_NAME)
+        @ConditionalOnMissingBean(name = DispatcherServlet.LOCALE_RESOLVER_BEAN_NAME)
+        public LocaleContextResolver localeContextResolver(@Nonnull LocaleChangeProperties properties, @Nonnull LocaleChangeSnapshotHolder snapshotHolder, @Nonnull ObjectProvider<LocaleResolutionRecorder> resolutionRecorder) {
+            LocaleChangeProperties.HostLocaleResolver props = properties.getHostLocaleResolver();
+            HostLocaleContextResolver resolver = new HostLocaleContextResolver(snapshotHolder);
+            Optional.ofNullable(props.getDefaultLocale()).ifPresent(resolver::setDefaultLocale);
+            Optional.ofNullable(props.getDefaultTimeZone()).ifPresent(resolver::setDefaultTimeZone);
+            resolver.setRecorder(LocaleResolutionRecorder.compose(resolutionRecorder.orderedStream().toList()));
+            return resolver;
+        }
+    }
 }
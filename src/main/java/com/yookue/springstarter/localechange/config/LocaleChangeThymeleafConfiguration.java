@@ -18,45 +18,44 @@ package com.yookue.springstarter.localechange.config;
 
 
 import jakarta.annotation.Nonnull;
-import org.springframework.beans.BeansException;
-import org.springframework.beans.factory.config.BeanPostProcessor;
-import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfigureBefore;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.thymeleaf.ThymeleafAutoConfiguration;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.Thymeleaf;
 import com.yookue.springstarter.localechange.dialect.LocaleChangeThymeleafDialect;
 import com.yookue.springstarter.localechange.factory.LocaleChangeExpressionFactory;
 import com.yookue.springstarter.localechange.property.LocaleChangeProperties;
+import com.yookue.springstarter.localechange.support.LocaleChangeSnapshotHolder;
 import com.yookue.springstarter.localechange.support.LocaleChangeTagObserver;
-import lombok.RequiredArgsConstructor;
 
 
 /**
  * Configuration of {@link org.thymeleaf.dialect.IDialect} for locale change
+ * <p>
+ * The dialect is registered as a bean, which the template engine of {@link org.springframework.boot.autoconfigure.thymeleaf.ThymeleafAutoConfiguration} picks up,
+ * so no bean post processing is involved at startup
  *
  * @author David Hsing
  */
 @Configuration(proxyBeanMethods = false)
 @ConditionalOnProperty(prefix = LocaleChangeViewConfiguration.PROPERTIES_PREFIX, name = {"enabled", "thymeleaf-dialect"}, havingValue = "true", matchIfMissing = true)
 @ConditionalOnClass(value = Thymeleaf.class)
+@AutoConfigureBefore(value = ThymeleafAutoConfiguration.class)
 @EnableConfigurationProperties(value = LocaleChangeProperties.class)
-@RequiredArgsConstructor
-@AutoConfigureAfter(value = ThymeleafAutoConfiguration.class)
-public class LocaleChangeThymeleafConfiguration implements BeanPostProcessor {
-    private final LocaleChangeProperties properties;
+public class LocaleChangeThymeleafConfiguration {
+    public static final String THYMELEAF_DIALECT = "localeChangeThymeleafDialect";    // $NON-NLS-1$
 
-    @Override
-    public Object postProcessAfterInitialization(@Nonnull Object bean, @Nonnull String beanName) throws BeansException {
-        if (bean instanceof TemplateEngine instance) {
-            LocaleChangeTagObserver observer = new LocaleChangeTagObserver(properties);
-            LocaleChangeExpressionFactory factory = new LocaleChangeExpressionFactory(observer);
-            LocaleChangeThymeleafDialect dialect = new LocaleChangeThymeleafDialect(factory);
-            instance.addDialect(dialect);
-        }
-        return bean;
+    @Bean(name = THYMELEAF_DIALECT)
+    @ConditionalOnMissingBean
+    public LocaleChangeThymeleafDialect localeChangeThymeleafDialect(@Nonnull LocaleChangeProperties properties, @Nonnull ObjectProvider<LocaleChangeSnapshotHolder> snapshotHolder) {
+        LocaleChangeSnapshotHolder holder = snapshotHolder.getIfAvailable(() -> new LocaleChangeSnapshotHolder(properties));
+        LocaleChangeExpressionFactory factory = new LocaleChangeExpressionFactory(new LocaleChangeTagObserver(holder));
+        return new LocaleChangeThymeleafDialect(factory, holder);
     }
 }
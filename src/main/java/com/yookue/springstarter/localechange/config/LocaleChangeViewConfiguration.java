@@ -19,6 +19,7 @@ package com.yookue.springstarter.localechange.config;
 
 import java.util.Optional;
 import jakarta.annotation.Nonnull;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
@@ -26,13 +27,16 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.util.Assert;
+import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistration;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import com.yookue.commonplexus.javaseutil.constant.AssertMessageConst;
-import com.yookue.commonplexus.javaseutil.util.CollectionPlainWraps;
+import com.yookue.springstarter.localechange.interceptor.ExcludableHandlerInterceptor;
 import com.yookue.springstarter.localechange.interceptor.LocaleChangeViewInterceptor;
 import com.yookue.springstarter.localechange.property.LocaleChangeProperties;
+import com.yookue.springstarter.localechange.support.LocaleChangeSnapshotHolder;
+import com.yookue.springstarter.localechange.support.LocaleResolutionRecorder;
 import lombok.RequiredArgsConstructor;
 
 
@@ -50,19 +54,29 @@ public class LocaleChangeViewConfiguration implements WebMvcConfigurer {
     public static final String PROPERTIES_PREFIX = "spring.locale-change";    // $NON-NLS-1$
     public static final String VIEW_INTERCEPTOR = "localeChangeViewInterceptor";    // $NON-NLS-1$
     private final LocaleChangeProperties properties;
+    private final LocaleChangeSnapshotHolder snapshotHolder;
+    private final ObjectProvider<LocaleResolutionRecorder> resolutionRecorder;
+    private final ObjectProvider<LocaleChangeViewInterceptor> viewInterceptors;
 
     @Bean(name = VIEW_INTERCEPTOR)
     @ConditionalOnMissingBean
     public LocaleChangeViewInterceptor viewInterceptor() {
-        return new LocaleChangeViewInterceptor(properties);
+        LocaleChangeViewInterceptor interceptor = new LocaleChangeViewInterceptor(snapshotHolder);
+        interceptor.setRecorder(LocaleResolutionRecorder.compose(resolutionRecorder.orderedStream().toList()));
+        return interceptor;
     }
 
     @Override
     public void addInterceptors(@Nonnull InterceptorRegistry registry) {
         LocaleChangeProperties.ModelAndView props = properties.getModelAndView();
         Assert.notEmpty(props.getInterceptPaths(), AssertMessageConst.NOT_EMPTY);
-        InterceptorRegistration registration = registry.addInterceptor(viewInterceptor()).addPathPatterns(props.getInterceptPaths());
-        Optional.ofNullable(props.getInterceptorOrder()).ifPresent(registration::order);
-        CollectionPlainWraps.ifNotEmpty(props.getExcludePaths(), element -> registration.excludePathPatterns(element));
+        if (LocaleChangeInterceptorConfiguration.getFusibleViewInterceptor(properties, viewInterceptors) != null) {
+            return;
+        }
+        viewInterceptors.orderedStream().forEach(viewInterceptor -> {
+            HandlerInterceptor interceptor = new ExcludableHandlerInterceptor(viewInterceptor, () -> snapshotHolder.get().getViewExcludeMatcher());
+            InterceptorRegistration registration = registry.addInterceptor(interceptor).addPathPatterns(props.getInterceptPaths());
+            Optional.ofNullable(props.getInterceptorOrder()).ifPresent(registration::order);
+        });
     }
 }
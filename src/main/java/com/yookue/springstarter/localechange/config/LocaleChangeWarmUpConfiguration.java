@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2022 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.springstarter.localechange.config;
+
+
+import java.util.Optional;
+import jakarta.annotation.Nonnull;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.MessageSource;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import com.yookue.springstarter.localechange.advice.LocaleChangeViewModelAdvice;
+import com.yookue.springstarter.localechange.interceptor.LocaleChangeViewInterceptor;
+import com.yookue.springstarter.localechange.property.LocaleChangeProperties;
+import com.yookue.springstarter.localechange.support.LocaleChangeSnapshotHolder;
+import com.yookue.springstarter.localechange.support.MessageSourceWarmUpRunner;
+
+
+/**
+ * Configuration of message source warm-up for locale change
+ *
+ * @author David Hsing
+ * @see com.yookue.springstarter.localechange.support.MessageSourceWarmUpRunner
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = LocaleChangeViewConfiguration.PROPERTIES_PREFIX, name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(value = LocaleChangeProperties.class)
+public class LocaleChangeWarmUpConfiguration {
+    public static final String PROPERTIES_PREFIX = LocaleChangeViewConfiguration.PROPERTIES_PREFIX + ".warm-up";    // $NON-NLS-1$
+    public static final String WARM_UP_RUNNER = "localeChangeWarmUpRunner";    // $NON-NLS-1$
+
+    @Bean(name = WARM_UP_RUNNER)
+    @ConditionalOnProperty(prefix = PROPERTIES_PREFIX, name = "enabled", havingValue = "true")
+    @ConditionalOnMissingBean
+    public MessageSourceWarmUpRunner localeChangeWarmUpRunner(@Nonnull LocaleChangeProperties properties, @Nonnull MessageSource messageSource, @Nonnull LocaleChangeSnapshotHolder snapshotHolder,
+        @Nonnull ObjectProvider<LocaleChangeViewInterceptor> viewInterceptor, @Nonnull ObjectProvider<LocaleChangeViewModelAdvice> viewAdvice) {
+        LocaleChangeProperties.WarmUp props = properties.getWarmUp();
+        MessageSourceWarmUpRunner runner = new MessageSourceWarmUpRunner(messageSource, snapshotHolder);
+        runner.setMessageKeys(props.getMessageKeys());
+        Optional.ofNullable(props.getParallelism()).ifPresent(runner::setParallelism);
+        Optional.ofNullable(props.getTimeout()).filter(duration -> !duration.isNegative() && !duration.isZero()).ifPresent(runner::setTimeout);
+        viewInterceptor.ifUnique(interceptor -> runner.addTagNamesResolver(interceptor::getTagNamesSnapshot));
+        viewAdvice.ifUnique(advice -> runner.addTagNamesResolver(advice::getTagNamesSnapshot));
+        return runner;
+    }
+}
@@ -17,26 +17,36 @@
 package com.yookue.springstarter.localechange.dialect;
 
 
+import java.util.Collections;
+import java.util.Set;
 import jakarta.annotation.Nonnull;
 import org.thymeleaf.dialect.AbstractDialect;
 import org.thymeleaf.dialect.IExpressionObjectDialect;
+import org.thymeleaf.dialect.IProcessorDialect;
 import org.thymeleaf.expression.IExpressionObjectFactory;
+import org.thymeleaf.processor.IProcessor;
+import org.thymeleaf.standard.StandardDialect;
 import com.yookue.springstarter.localechange.factory.LocaleChangeExpressionFactory;
+import com.yookue.springstarter.localechange.processor.LocaleChangeSwitcherProcessor;
+import com.yookue.springstarter.localechange.support.LocaleChangeSnapshotHolder;
 import lombok.Getter;
 import lombok.Setter;
 
 
 /**
- * {@link org.thymeleaf.dialect.IExpressionObjectDialect} for locale change
+ * {@link org.thymeleaf.dialect.IExpressionObjectDialect} and {@link org.thymeleaf.dialect.IProcessorDialect} for locale change
  *
  * @author David Hsing
  */
 @Getter
 @Setter
 @SuppressWarnings("unused")
-public class LocaleChangeThymeleafDialect extends AbstractDialect implements IExpressionObjectDialect {
+public class LocaleChangeThymeleafDialect extends AbstractDialect implements IExpressionObjectDialect, IProcessorDialect {
+    public static final String DIALECT_PREFIX = "lc";    // $NON-NLS-1$
     private static final String DIALECT_NAME = "Multilingual";    // $NON-NLS-1$
     private LocaleChangeExpressionFactory expressionFactory;
+    private LocaleChangeSnapshotHolder snapshotHolder;
+    private String prefix = DIALECT_PREFIX;
 
     public LocaleChangeThymeleafDialect() {
         super(DIALECT_NAME);
@@ -47,8 +57,24 @@ public class LocaleChangeThymeleafDialect extends AbstractDialect implements IEx
         expressionFactory = factory;
     }
 
+    public LocaleChangeThymeleafDialect(@Nonnull LocaleChangeExpressionFactory factory, @Nonnull LocaleChangeSnapshotHolder snapshotHolder) {
+        super(DIALECT_NAME);
+        expressionFactory = factory;
+        this.snapshotHolder = snapshotHolder;
+    }
+
     @Override
     public IExpressionObjectFactory getExpressionObjectFactory() {
         return expressionFactory;
     }
+
+    @Override
+    public int getDialectProcessorPrecedence() {
+        return StandardDialect.PROCESSOR_PRECEDENCE;
+    }
+
+    @Override
+    public Set<IProcessor> getProcessors(@Nonnull String dialectPrefix) {
+        return (snapshotHolder == null) ? Collections.emptySet() : Collections.singleton(new LocaleChangeSwitcherProcessor(dialectPrefix, getDialectProcessorPrecedence(), snapshotHolder));
+    }
 }
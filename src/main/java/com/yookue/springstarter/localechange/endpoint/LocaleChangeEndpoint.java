@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2022 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.springstarter.localechange.endpoint;
+
+
+import java.util.List;
+import java.util.Map;
+import jakarta.annotation.Nonnull;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import com.yookue.springstarter.localechange.metrics.LocaleUsageStatistics;
+import com.yookue.springstarter.localechange.support.TopValuesSketch;
+import lombok.RequiredArgsConstructor;
+
+
+/**
+ * Actuator endpoint of the usage statistics of locales
+ * <p>
+ * Reading the endpoint returns a snapshot of the statistics, and deleting the endpoint resets them
+ *
+ * @author David Hsing
+ * @see com.yookue.springstarter.localechange.metrics.LocaleUsageStatistics
+ */
+@Endpoint(id = LocaleChangeEndpoint.ENDPOINT_ID)
+@RequiredArgsConstructor
+@SuppressWarnings("unused")
+public class LocaleChangeEndpoint {
+    public static final String ENDPOINT_ID = "localechange";    // $NON-NLS-1$
+    private final LocaleUsageStatistics statistics;
+
+    @ReadOperation
+    public LocaleUsageDescriptor usage() {
+        return new LocaleUsageDescriptor(statistics.getLocaleCounts(), statistics.getSourceCounts(), statistics.getInvalidCounts(), statistics.getInvalidValues(), statistics.getUnsupportedValues());
+    }
+
+    @DeleteOperation
+    public void reset() {
+        statistics.reset();
+    }
+
+
+    /**
+     * Snapshot of the usage statistics of locales
+     */
+    public record LocaleUsageDescriptor(@Nonnull Map<String, Long> locales, @Nonnull Map<String, Long> sources, @Nonnull Map<String, Long> invalidSources,
+        @Nonnull List<TopValuesSketch.ValueCount> invalidValues, @Nonnull List<TopValuesSketch.ValueCount> unsupportedValues) {
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2022 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.springstarter.localechange.enumeration;
+
+
+import com.yookue.commonplexus.javaseutil.support.ValueEnum;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+
+/**
+ * Enumerations of locale resolution sources
+ *
+ * @author David Hsing
+ */
+@AllArgsConstructor
+@Getter
+@SuppressWarnings("unused")
+public enum LocaleResolutionSource implements ValueEnum<String> {
+    PARAM("param"),    // $NON-NLS-1$
+    COOKIE("cookie"),    // $NON-NLS-1$
+    HEADER("header"),    // $NON-NLS-1$
+    PATH("path"),    // $NON-NLS-1$
+    HOST("host"),    // $NON-NLS-1$
+    DEFAULT("default");    // $NON-NLS-1$
+
+    private final String value;
+}
@@ -33,7 +33,10 @@ import lombok.Getter;
 public enum LocaleResolverType implements ValueEnum<String> {
     COOKIE("cookie"),    // $NON-NLS-1$
     SESSION("session"),    // $NON-NLS-1$
-    FIXED("fixed");    // $NON-NLS-1$
+    FIXED("fixed"),    // $NON-NLS-1$
+    ACCEPT_HEADER("accept-header"),    // $NON-NLS-1$
+    PATH("path"),    // $NON-NLS-1$
+    HOST("host");    // $NON-NLS-1$
 
     private final String value;
 }
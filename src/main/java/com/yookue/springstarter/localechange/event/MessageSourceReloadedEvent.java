@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2022 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.springstarter.localechange.event;
+
+
+import jakarta.annotation.Nonnull;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.MessageSource;
+
+
+/**
+ * Event for notifying that the {@link org.springframework.context.MessageSource} has been reloaded
+ * <p>
+ * Publish this event after clearing the cache of a reloadable message source, then the locale change components will drop their message caches
+ *
+ * @author David Hsing
+ * @see org.springframework.context.support.ReloadableResourceBundleMessageSource#clearCache
+ */
+@SuppressWarnings("unused")
+public class MessageSourceReloadedEvent extends ApplicationEvent {
+    public MessageSourceReloadedEvent(@Nonnull MessageSource source) {
+        super(source);
+    }
+
+    @Nonnull
+    public MessageSource getMessageSource() {
+        return (MessageSource) super.getSource();
+    }
+}
@@ -27,14 +27,16 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.boot.web.servlet.filter.OrderedRequestContextFilter;
+import org.springframework.context.i18n.LocaleContext;
 import org.springframework.context.i18n.LocaleContextHolder;
-import org.springframework.util.CollectionUtils;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
-import com.yookue.commonplexus.springutil.util.AntPathWraps;
-import com.yookue.commonplexus.springutil.util.UriUtilsWraps;
 import com.yookue.commonplexus.springutil.util.WebUtilsWraps;
 import com.yookue.springstarter.localechange.property.LocaleChangeProperties;
+import com.yookue.springstarter.localechange.resolver.CookieLocaleContextResolver;
+import com.yookue.springstarter.localechange.support.LocaleChangeSnapshotHolder;
+import com.yookue.springstarter.localechange.support.LocaleResolutionRecorder;
+import com.yookue.springstarter.localechange.support.PathExclusionMatcher;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
@@ -42,6 +44,8 @@ import lombok.Setter;
 
 /**
  * {@link jakarta.servlet.Filter} for detecting locale from cookies, and setting up request context
+ * <p>
+ * The filter applies to async dispatches too, which re-bind the locale context that is resolved by the initial dispatch
  *
  * @author David Hsing
  * @see org.springframework.web.filter.RequestContextFilter
@@ -54,36 +58,75 @@ import lombok.Setter;
 @Setter
 @SuppressWarnings("unused")
 public class CookieLocaleRequestContextFilter extends OrderedRequestContextFilter {
+    private static final String LOCALE_CONTEXT_ATTRIBUTE = CookieLocaleRequestContextFilter.class.getName() + ".LOCALE_CONTEXT";    // $NON-NLS-1$
     private final LocaleChangeProperties properties;
     private String cookieName;
     private boolean threadLocaleInheritable;
+    private PathExclusionMatcher excludeMatcher;
+
+    /**
+     * The holder of the configuration snapshot, which provides the reloadable exclusions if no explicit {@code excludeMatcher}
+     */
+    private LocaleChangeSnapshotHolder snapshotHolder;
+
+    /**
+     * The locale resolver to share the resolution of a request with the dispatcher servlet and interceptors
+     */
+    private CookieLocaleContextResolver localeResolver;
+
+    /**
+     * The recorder of the time that this filter spends on resolving locales and binding the request context, excluding the filter chain
+     */
+    private LocaleResolutionRecorder recorder = LocaleResolutionRecorder.NONE;
 
     @Override
     protected void doFilterInternal(@Nonnull HttpServletRequest request, @Nonnull HttpServletResponse response, @Nonnull FilterChain chain) throws ServletException, IOException {
-        if (StringUtils.isBlank(cookieName)) {
+        long startTime = System.nanoTime();
+        if (localeResolver != null) {
+            LocaleContext context = localeResolver.resolveLocaleContext(request);
+            LocaleContextHolder.setLocaleContext(context, threadLocaleInheritable);
+        } else if (StringUtils.isNotBlank(cookieName)) {
+            bindCookieLocaleContext(request);
+        } else {
             chain.doFilter(request, response);
             return;
         }
-        Locale locale = ObjectUtils.defaultIfNull(WebUtilsWraps.getLocaleFromCookie(request, cookieName), request.getLocale());
-        LocaleContextHolder.setLocale(locale, threadLocaleInheritable);
         ServletRequestAttributes attributes = new ServletRequestAttributes(request, response);
         RequestContextHolder.setRequestAttributes(attributes, threadLocaleInheritable);
+        recorder.recordFilterTime(System.nanoTime() - startTime);
         try {
             chain.doFilter(request, response);
         } finally {
             LocaleContextHolder.resetLocaleContext();
             RequestContextHolder.resetRequestAttributes();
-            attributes.requestCompleted();
+            if (!isAsyncStarted(request)) {
+                attributes.requestCompleted();
+            }
         }
     }
 
+    /**
+     * Binds the locale context from the cookie, which is resolved once and memorized as a request attribute, so async dispatches re-bind it without parsing the cookie again
+     */
+    private void bindCookieLocaleContext(@Nonnull HttpServletRequest request) {
+        if (request.getAttribute(LOCALE_CONTEXT_ATTRIBUTE) instanceof LocaleContext context) {
+            LocaleContextHolder.setLocaleContext(context, threadLocaleInheritable);
+            return;
+        }
+        Locale locale = ObjectUtils.defaultIfNull(WebUtilsWraps.getLocaleFromCookie(request, cookieName), request.getLocale());
+        LocaleContextHolder.setLocale(locale, threadLocaleInheritable);
+        request.setAttribute(LOCALE_CONTEXT_ATTRIBUTE, LocaleContextHolder.getLocaleContext());
+    }
+
     @Override
     protected boolean shouldNotFilter(@Nonnull HttpServletRequest request) throws ServletException {
-        LocaleChangeProperties.CookieLocaleFilter props = properties.getCookieLocaleFilter();
-        if (!CollectionUtils.isEmpty(props.getExcludePaths())) {
-            String servletPath = UriUtilsWraps.getServletPath(request);
-            return AntPathWraps.matchAnyPatterns(servletPath, props.getExcludePaths());
+        PathExclusionMatcher matcher = excludeMatcher;
+        if (matcher == null) {
+            if (snapshotHolder == null) {
+                snapshotHolder = new LocaleChangeSnapshotHolder(properties);
+            }
+            matcher = snapshotHolder.get().getFilterExcludeMatcher();
         }
-        return super.shouldNotFilter(request);
+        return matcher.matches(request) || super.shouldNotFilter(request);
     }
 }
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2022 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.springstarter.localechange.filter;
+
+
+import jakarta.annotation.Nonnull;
+import org.springframework.context.i18n.LocaleContext;
+import org.springframework.core.Ordered;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import com.yookue.springstarter.localechange.support.LocaleChangeSnapshotHolder;
+import com.yookue.springstarter.localechange.support.PathExclusionMatcher;
+import lombok.Getter;
+import lombok.Setter;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+
+/**
+ * {@link org.springframework.web.server.WebFilter} for resolving locale of exchanges, and carrying it in the reactor context
+ * <p>
+ * The reactive counterpart of {@link com.yookue.springstarter.localechange.filter.CookieLocaleRequestContextFilter}
+ *
+ * @author David Hsing
+ * @see org.springframework.web.server.ServerWebExchange#getLocaleContext
+ */
+@Getter
+@Setter
+@SuppressWarnings("unused")
+public class CookieLocaleWebFilter implements WebFilter, Ordered {
+    private PathExclusionMatcher excludeMatcher = PathExclusionMatcher.compile(null);
+    private int order = Ordered.HIGHEST_PRECEDENCE + 8;
+
+    /**
+     * The holder of the configuration snapshot, which provides the reloadable exclusions if present
+     */
+    private LocaleChangeSnapshotHolder snapshotHolder;
+
+    @Nonnull
+    @Override
+    public Mono<Void> filter(@Nonnull ServerWebExchange exchange, @Nonnull WebFilterChain chain) {
+        PathExclusionMatcher excludeMatcher = (snapshotHolder != null) ? snapshotHolder.get().getFilterExcludeMatcher() : this.excludeMatcher;
+        if (!excludeMatcher.isEmpty() && excludeMatcher.matches(exchange.getRequest().getPath().pathWithinApplication().value())) {
+            return chain.filter(exchange);
+        }
+        LocaleContext context = exchange.getLocaleContext();
+        return chain.filter(exchange).contextWrite(Context.of(LocaleContext.class, context));
+    }
+
+    /**
+     * Returns the locale context that carried in the reactor context of current subscription
+     */
+    @Nonnull
+    public static Mono<LocaleContext> currentLocaleContext() {
+        return Mono.deferContextual(view -> Mono.justOrEmpty(view.getOrEmpty(LocaleContext.class)));
+    }
+}
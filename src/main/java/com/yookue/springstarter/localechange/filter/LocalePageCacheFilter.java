@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2022 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.springstarter.localechange.filter;
+
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TimeZone;
+import jakarta.annotation.Nonnull;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.context.i18n.LocaleContext;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.context.i18n.SimpleLocaleContext;
+import org.springframework.context.i18n.TimeZoneAwareLocaleContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.LocaleContextResolver;
+import org.springframework.web.servlet.LocaleResolver;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+import com.yookue.springstarter.localechange.support.LocaleChangeSnapshotHolder;
+import com.yookue.springstarter.localechange.support.LocalePageCache;
+import com.yookue.springstarter.localechange.support.PathExclusionMatcher;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+
+
+/**
+ * {@link jakarta.servlet.Filter} for serving the rendered pages of anonymous requests from a per-locale cache, before the handlers run
+ * <p>
+ * Only the {@code GET} requests without principal, {@code Authorization} header, session and locale parameter are cached,
+ * and only the {@code 200} responses that neither set cookies, bind sessions nor forbid caching are stored
+ *
+ * @author David Hsing
+ * @see com.yookue.springstarter.localechange.support.LocalePageCache
+ */
+@RequiredArgsConstructor
+@Getter
+@Setter
+@SuppressWarnings("unused")
+public class LocalePageCacheFilter extends OncePerRequestFilter {
+    private static final String PAGE_KEY_ATTRIBUTE = LocalePageCacheFilter.class.getName() + ".PAGE_KEY";    // $NON-NLS-1$
+    private final LocalePageCache pageCache;
+    private PathExclusionMatcher cacheMatcher;
+    private PathExclusionMatcher excludeMatcher;
+    private int maxBodySize = 512 * 1024;
+
+    /**
+     * The locale resolver to determine the locale of cache keys, which shares the resolution with {@code CookieLocaleContextResolver}
+     */
+    private LocaleResolver localeResolver;
+
+    /**
+     * The holder of the configuration snapshot, which provides the reloadable locale parameter name
+     */
+    private LocaleChangeSnapshotHolder snapshotHolder;
+
+    @Override
+    protected void doFilterInternal(@Nonnull HttpServletRequest request, @Nonnull HttpServletResponse response, @Nonnull FilterChain chain) throws ServletException, IOException {
+        LocalePageCache.PageKey key;
+        ContentCachingResponseWrapper wrapper;
+        if (isAsyncDispatch(request)) {
+            key = (LocalePageCache.PageKey) request.getAttribute(PAGE_KEY_ATTRIBUTE);
+            wrapper = WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class);
+            if (key == null || wrapper == null) {
+                chain.doFilter(request, response);
+                return;
+            }
+        } else {
+            if (!isCacheable(request)) {
+                chain.doFilter(request, response);
+                return;
+            }
+            key = buildKey(request);
+            LocalePageCache.CachedPage page = pageCache.get(key);
+            if (page != null) {
+                writePage(response, page);
+                return;
+            }
+            wrapper = new ContentCachingResponseWrapper(response);
+        }
+        chain.doFilter(request, wrapper);
+        if (isAsyncStarted(request)) {
+            request.setAttribute(PAGE_KEY_ATTRIBUTE, key);
+            return;
+        }
+        if (isStorable(request, wrapper)) {
+            pageCache.put(key, wrapper.getContentType(), captureHeaders(wrapper), wrapper.getContentAsByteArray());
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    /**
+     * Returns the key of the request, which includes the resolved time zone, since the pages may render the dates in the time zone of the client
+     */
+    @Nonnull
+    private LocalePageCache.PageKey buildKey(@Nonnull HttpServletRequest request) {
+        LocaleContext context;
+        if (localeResolver instanceof LocaleContextResolver resolver) {
+            context = resolver.resolveLocaleContext(request);
+        } else if (localeResolver != null) {
+            context = new SimpleLocaleContext(localeResolver.resolveLocale(request));
+        } else {
+            context = LocaleContextHolder.getLocaleContext();
+        }
+        Locale locale = (context == null || context.getLocale() == null) ? LocaleContextHolder.getLocale() : context.getLocale();
+        TimeZone timeZone = (context instanceof TimeZoneAwareLocaleContext aware) ? aware.getTimeZone() : null;
+        return new LocalePageCache.PageKey(request.getRequestURI(), request.getQueryString(), locale, (timeZone == null) ? null : timeZone.getID());
+    }
+
+    private boolean isCacheable(@Nonnull HttpServletRequest request) {
+        if (!HttpMethod.GET.matches(request.getMethod()) || cacheMatcher == null || !cacheMatcher.matches(request)) {
+            return false;
+        }
+        if (excludeMatcher != null && excludeMatcher.matches(request)) {
+            return false;
+        }
+        if (request.getUserPrincipal() != null || request.getHeader(HttpHeaders.AUTHORIZATION) != null || request.getRequestedSessionId() != null) {
+            return false;
+        }
+        return snapshotHolder == null || request.getParameter(snapshotHolder.get().getParamName()) == null;
+    }
+
+    private boolean isStorable(@Nonnull HttpServletRequest request, @Nonnull ContentCachingResponseWrapper response) {
+        if (response.getStatus() != HttpServletResponse.SC_OK || response.getContentSize() > maxBodySize || response.containsHeader(HttpHeaders.SET_COOKIE)) {
+            return false;
+        }
+        String cacheControl = response.getHeader(HttpHeaders.CACHE_CONTROL);
+        if (StringUtils.containsAnyIgnoreCase(cacheControl, "private", "no-store", "no-cache")) {    // $NON-NLS-1$ // $NON-NLS-2$ // $NON-NLS-3$
+            return false;
+        }
+        return request.getSession(false) == null;
+    }
+
+    /**
+     * Returns the response headers to be replayed, excluding the headers of the content and the connection
+     */
+    @Nonnull
+    private Map<String, List<String>> captureHeaders(@Nonnull ContentCachingResponseWrapper response) {
+        Map<String, List<String>> result = new LinkedHashMap<>();
+        for (String name : response.getHeaderNames()) {
+            if (!StringUtils.equalsAnyIgnoreCase(name, HttpHeaders.CONTENT_TYPE, HttpHeaders.CONTENT_LENGTH, HttpHeaders.TRANSFER_ENCODING, HttpHeaders.DATE, HttpHeaders.CONNECTION, HttpHeaders.SET_COOKIE)) {
+                result.putIfAbsent(name, List.copyOf(response.getHeaders(name)));
+            }
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    private void writePage(@Nonnull HttpServletResponse response, @Nonnull LocalePageCache.CachedPage page) throws IOException {
+        response.setStatus(HttpServletResponse.SC_OK);
+        if (page.contentType() != null) {
+            response.setContentType(page.contentType());
+        }
+        for (Map.Entry<String, List<String>> header : page.headers().entrySet()) {
+            response.setHeader(header.getKey(), null);
+            for (String value : header.getValue()) {
+                response.addHeader(header.getKey(), value);
+            }
+        }
+        response.setContentLength(page.body().length);
+        response.getOutputStream().write(page.body());
+    }
+}
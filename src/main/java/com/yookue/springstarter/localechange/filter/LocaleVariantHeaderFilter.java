@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2022 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.springstarter.localechange.filter;
+
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.util.Locale;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+import org.springframework.web.servlet.LocaleResolver;
+import org.springframework.web.servlet.support.RequestContextUtils;
+import lombok.Getter;
+import lombok.Setter;
+
+
+/**
+ * {@link jakarta.servlet.Filter} for telling the shared caches that responses vary by locale
+ * <p>
+ * Adds the {@code Vary} header of the request headers that the locale resolver consults, the {@code Content-Language} header of the resolved locale,
+ * and optionally the locale qualified {@code ETag} header, which answers the conditional requests with {@code 304 Not Modified}
+ *
+ * @author David Hsing
+ * @see org.springframework.web.filter.ShallowEtagHeaderFilter
+ */
+@Getter
+@Setter
+@SuppressWarnings("unused")
+public class LocaleVariantHeaderFilter extends ShallowEtagHeaderFilter {
+    /**
+     * The request header names that the locale resolver consults, such as {@code Cookie} or {@code Accept-Language}
+     */
+    private String[] varyHeaders;
+
+    /**
+     * Indicates whether to add the {@code Content-Language} header or not
+     */
+    private boolean contentLanguage = true;
+
+    /**
+     * Indicates whether to buffer the responses for the locale qualified {@code ETag} header or not
+     */
+    private boolean localeEtag;
+
+    /**
+     * The locale resolver to determine the locale of the {@code Content-Language} header, falls back to {@link org.springframework.web.servlet.support.RequestContextUtils#getLocale}
+     */
+    private LocaleResolver localeResolver;
+
+    @Override
+    protected void doFilterInternal(@Nonnull HttpServletRequest request, @Nonnull HttpServletResponse response, @Nonnull FilterChain chain) throws ServletException, IOException {
+        addVaryHeaders(response);
+        if (contentLanguage) {
+            setContentLanguage(response, (localeResolver != null) ? localeResolver.resolveLocale(request) : LocaleContextHolder.getLocale());
+        }
+        if (!localeEtag) {
+            if (!contentLanguage) {
+                chain.doFilter(request, response);
+                return;
+            }
+            ContentLanguageResponseWrapper wrapper = new ContentLanguageResponseWrapper(request, response);
+            chain.doFilter(request, wrapper);
+            wrapper.refreshContentLanguage();
+            return;
+        }
+        super.doFilterInternal(request, response, chain);
+    }
+
+    /**
+     * Updates the {@code Content-Language} header with the final locale (which may be changed by handlers), and sets the locale qualified {@code ETag} header
+     * <p>
+     * The {@code ETag} header is set here, since the request is not available to {@link #generateETagHeaderValue}, and the existing header is used by the super class as is
+     */
+    @Override
+    protected boolean isEligibleForEtag(@Nonnull HttpServletRequest request, @Nonnull HttpServletResponse response, int statusCode, @Nonnull InputStream inputStream) {
+        Locale locale = RequestContextUtils.getLocale(request);
+        if (contentLanguage) {
+            setContentLanguage(response, locale);
+        }
+        boolean eligible = super.isEligibleForEtag(request, response, statusCode, inputStream);
+        if (eligible && StringUtils.isEmpty(response.getHeader(HttpHeaders.ETAG))) {
+            try {
+                response.setHeader(HttpHeaders.ETAG, generateLocaleETag(inputStream, locale));
+            } catch (IOException ignored) {
+            }
+        }
+        return eligible;
+    }
+
+    /**
+     * Appends the language tag to the digest of the content, e.g. {@code "0a1b2c-zh-CN"}
+     */
+    @Nonnull
+    protected String generateLocaleETag(@Nonnull InputStream inputStream, @Nullable Locale locale) throws IOException {
+        String result = generateETagHeaderValue(inputStream, isWriteWeakETag());
+        if (locale == null || !StringUtils.endsWith(result, "\"")) {    // $NON-NLS-1$
+            return result;
+        }
+        return result.substring(0, result.length() - 1) + '-' + locale.toLanguageTag() + '"';
+    }
+
+    private void addVaryHeaders(@Nonnull HttpServletResponse response) {
+        if (ArrayUtils.isEmpty(varyHeaders)) {
+            return;
+        }
+        for (String header : varyHeaders) {
+            if (!containsVaryHeader(response, header)) {
+                response.addHeader(HttpHeaders.VARY, header);
+            }
+        }
+    }
+
+    private boolean containsVaryHeader(@Nonnull HttpServletResponse response, @Nonnull String header) {
+        for (String value : response.getHeaders(HttpHeaders.VARY)) {
+            for (String element : StringUtils.split(value, ',')) {
+                String name = element.trim();
+                if (StringUtils.equalsAnyIgnoreCase(name, header, "*")) {    // $NON-NLS-1$
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Nullable
+    private Locale determineLocale(@Nonnull HttpServletRequest request) {
+        return (localeResolver != null) ? localeResolver.resolveLocale(request) : RequestContextUtils.getLocale(request);
+    }
+
+    private void setContentLanguage(@Nonnull HttpServletResponse response, @Nullable Locale locale) {
+        if (locale != null && !response.isCommitted() && StringUtils.isNotEmpty(locale.getLanguage())) {
+            response.setHeader(HttpHeaders.CONTENT_LANGUAGE, locale.toLanguageTag());
+        }
+    }
+
+
+    /**
+     * Response wrapper that updates the {@code Content-Language} header with the final locale (which may be changed by handlers) before the response is committed
+     */
+    private final class ContentLanguageResponseWrapper extends HttpServletResponseWrapper {
+        private final HttpServletRequest request;
+
+        private ContentLanguageResponseWrapper(@Nonnull HttpServletRequest request, @Nonnull HttpServletResponse response) {
+            super(response);
+            this.request = request;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            refreshContentLanguage();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            refreshContentLanguage();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            refreshContentLanguage();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            refreshContentLanguage();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            refreshContentLanguage();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            refreshContentLanguage();
+            super.sendRedirect(location);
+        }
+
+        private void refreshContentLanguage() {
+            setContentLanguage((HttpServletResponse) getResponse(), determineLocale(request));
+        }
+    }
+}
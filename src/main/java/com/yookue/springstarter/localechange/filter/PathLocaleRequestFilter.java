@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2022 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.springstarter.localechange.filter;
+
+
+import java.io.IOException;
+import jakarta.annotation.Nonnull;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.i18n.LocaleContext;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import com.yookue.springstarter.localechange.resolver.PathLocaleContextResolver;
+import com.yookue.springstarter.localechange.support.LocalePathPrefixMatcher;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+
+/**
+ * {@link jakarta.servlet.Filter} for resolving locale from the prefix of request paths, and stripping the prefix from the paths that handler mappings see
+ * <p>
+ * For example, {@code /zh-CN/products} is handled as {@code /products} with the {@code zh-CN} locale
+ *
+ * @author David Hsing
+ * @see com.yookue.springstarter.localechange.resolver.PathLocaleContextResolver
+ */
+@RequiredArgsConstructor
+@Getter
+@SuppressWarnings("unused")
+public class PathLocaleRequestFilter extends OncePerRequestFilter {
+    private final PathLocaleContextResolver localeResolver;
+
+    @Override
+    protected void doFilterInternal(@Nonnull HttpServletRequest request, @Nonnull HttpServletResponse response, @Nonnull FilterChain chain) throws ServletException, IOException {
+        LocaleContext context = localeResolver.resolveLocaleContext(request);
+        LocalePathPrefixMatcher.Match match = PathLocaleContextResolver.getPathPrefix(request);
+        HttpServletRequest requestToUse = (match == null) ? request : new PrefixStrippedRequest(request, match.length());
+        LocaleContext previousContext = LocaleContextHolder.getLocaleContext();
+        LocaleContextHolder.setLocaleContext(context);
+        try {
+            chain.doFilter(requestToUse, response);
+        } finally {
+            LocaleContextHolder.setLocaleContext(previousContext);
+        }
+    }
+
+
+    /**
+     * Request that hides the locale prefix of the paths
+     */
+    private static class PrefixStrippedRequest extends HttpServletRequestWrapper {
+        private final String prefix;
+        private final String requestUri;
+
+        PrefixStrippedRequest(@Nonnull HttpServletRequest request, int prefixLength) {
+            super(request);
+            String contextPath = request.getContextPath();
+            String uri = request.getRequestURI();
+            int offset = (contextPath == null) ? 0 : contextPath.length();
+            this.prefix = uri.substring(offset, Math.min(offset + prefixLength, uri.length()));
+            this.requestUri = uri.substring(0, offset) + stripPrefix(uri.substring(offset));
+        }
+
+        @Override
+        public String getRequestURI() {
+            return requestUri;
+        }
+
+        @Override
+        public StringBuffer getRequestURL() {
+            StringBuffer result = super.getRequestURL();
+            int offset = result.length() - super.getRequestURI().length();
+            if (offset >= 0) {
+                result.setLength(offset);
+                result.append(requestUri);
+            }
+            return result;
+        }
+
+        @Override
+        public String getServletPath() {
+            String servletPath = super.getServletPath();
+            return (servletPath == null) ? null : stripPrefix(servletPath);
+        }
+
+        @Override
+        public String getPathInfo() {
+            String pathInfo = super.getPathInfo();
+            return (pathInfo == null || !super.getServletPath().isEmpty()) ? pathInfo : stripPrefix(pathInfo);
+        }
+
+        /**
+         * Returns the path without the locale prefix, if the path starts with the prefix followed by a slash or nothing, or the path itself
+         */
+        @Nonnull
+        private String stripPrefix(@Nonnull String path) {
+            int length = prefix.length();
+            if (!path.regionMatches(true, 0, prefix, 0, length) || (path.length() > length && path.charAt(length) != '/')) {
+                return path;
+            }
+            return (path.length() == length) ? "/" : path.substring(length);    // $NON-NLS-1$
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2022 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.springstarter.localechange.interceptor;
+
+
+import java.util.function.Supplier;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+import com.yookue.springstarter.localechange.support.PathExclusionMatcher;
+import lombok.Getter;
+
+
+/**
+ * {@link org.springframework.web.servlet.HandlerInterceptor} that skips the delegate when the request path matches the precompiled exclusions
+ *
+ * @author David Hsing
+ * @see com.yookue.springstarter.localechange.support.PathExclusionMatcher
+ */
+@SuppressWarnings("unused")
+public class ExcludableHandlerInterceptor implements AsyncHandlerInterceptor {
+    @Getter
+    private final HandlerInterceptor delegate;
+    private final Supplier<PathExclusionMatcher> matcherSupplier;
+
+    public ExcludableHandlerInterceptor(@Nonnull HandlerInterceptor delegate, @Nonnull PathExclusionMatcher excludeMatcher) {
+        this(delegate, () -> excludeMatcher);
+    }
+
+    /**
+     * Creates an interceptor whose exclusions are supplied per request, such as from the current configuration snapshot
+     */
+    public ExcludableHandlerInterceptor(@Nonnull HandlerInterceptor delegate, @Nonnull Supplier<PathExclusionMatcher> matcherSupplier) {
+        this.delegate = delegate;
+        this.matcherSupplier = matcherSupplier;
+    }
+
+    @Nonnull
+    public PathExclusionMatcher getExcludeMatcher() {
+        return matcherSupplier.get();
+    }
+
+    @Override
+    public boolean preHandle(@Nonnull HttpServletRequest request, @Nonnull HttpServletResponse response, @Nonnull Object handler) throws Exception {
+        return getExcludeMatcher().matches(request) || delegate.preHandle(request, response, handler);
+    }
+
+    @Override
+    public void postHandle(@Nonnull HttpServletRequest request, @Nonnull HttpServletResponse response, @Nonnull Object handler, @Nullable ModelAndView view) throws Exception {
+        if (!getExcludeMatcher().matches(request)) {
+            delegate.postHandle(request, response, handler, view);
+        }
+    }
+
+    @Override
+    public void afterCompletion(@Nonnull HttpServletRequest request, @Nonnull HttpServletResponse response, @Nonnull Object handler, @Nullable Exception ex) throws Exception {
+        if (!getExcludeMatcher().matches(request)) {
+            delegate.afterCompletion(request, response, handler, ex);
+        }
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(@Nonnull HttpServletRequest request, @Nonnull HttpServletResponse response, @Nonnull Object handler) throws Exception {
+        if (delegate instanceof AsyncHandlerInterceptor instance && !getExcludeMatcher().matches(request)) {
+            instance.afterConcurrentHandlingStarted(request, response, handler);
+        }
+    }
+}
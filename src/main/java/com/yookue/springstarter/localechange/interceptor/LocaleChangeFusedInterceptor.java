@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2022 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.springstarter.localechange.interceptor;
+
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+
+/**
+ * {@link org.springframework.web.servlet.HandlerInterceptor} that fuses the locale change interceptor and the view interceptor into one registration
+ * <p>
+ * Used when both interceptors have the same path patterns and order, so that the paths of a request are matched only once
+ *
+ * @author David Hsing
+ */
+@RequiredArgsConstructor
+@Getter
+@SuppressWarnings("unused")
+public class LocaleChangeFusedInterceptor implements AsyncHandlerInterceptor {
+    private final HandlerInterceptor localeInterceptor;
+    private final HandlerInterceptor viewInterceptor;
+
+    @Override
+    public boolean preHandle(@Nonnull HttpServletRequest request, @Nonnull HttpServletResponse response, @Nonnull Object handler) throws Exception {
+        return localeInterceptor.preHandle(request, response, handler) && viewInterceptor.preHandle(request, response, handler);
+    }
+
+    @Override
+    public void postHandle(@Nonnull HttpServletRequest request, @Nonnull HttpServletResponse response, @Nonnull Object handler, @Nullable ModelAndView view) throws Exception {
+        viewInterceptor.postHandle(request, response, handler, view);
+        localeInterceptor.postHandle(request, response, handler, view);
+    }
+
+    @Override
+    public void afterCompletion(@Nonnull HttpServletRequest request, @Nonnull HttpServletResponse response, @Nonnull Object handler, @Nullable Exception ex) throws Exception {
+        viewInterceptor.afterCompletion(request, response, handler, ex);
+        localeInterceptor.afterCompletion(request, response, handler, ex);
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(@Nonnull HttpServletRequest request, @Nonnull HttpServletResponse response, @Nonnull Object handler) throws Exception {
+        if (viewInterceptor instanceof AsyncHandlerInterceptor instance) {
+            instance.afterConcurrentHandlingStarted(request, response, handler);
+        }
+        if (localeInterceptor instanceof AsyncHandlerInterceptor instance) {
+            instance.afterConcurrentHandlingStarted(request, response, handler);
+        }
+    }
+}
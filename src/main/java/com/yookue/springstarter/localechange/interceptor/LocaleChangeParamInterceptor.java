@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2022 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.springstarter.localechange.interceptor;
+
+
+import java.util.Locale;
+import java.util.TimeZone;
+import jakarta.annotation.Nonnull;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.context.i18n.SimpleTimeZoneAwareLocaleContext;
+import org.springframework.util.ObjectUtils;
+import org.springframework.web.servlet.LocaleResolver;
+import org.springframework.web.servlet.i18n.LocaleChangeInterceptor;
+import org.springframework.web.servlet.support.RequestContextUtils;
+import com.yookue.springstarter.localechange.resolver.CookieLocaleContextResolver;
+import com.yookue.springstarter.localechange.support.LocaleChangeSnapshotHolder;
+import lombok.Getter;
+import lombok.Setter;
+
+
+/**
+ * {@link org.springframework.web.servlet.i18n.LocaleChangeInterceptor} that reuses the parsed locales of {@link com.yookue.springstarter.localechange.resolver.CookieLocaleContextResolver}
+ * <p>
+ * Falls back to the default behaviours, if the locale resolver of the request is not a {@link com.yookue.springstarter.localechange.resolver.CookieLocaleContextResolver}.
+ * Otherwise, a valid time zone parameter (if configured) is stored along with the locale
+ *
+ * @author David Hsing
+ */
+@Getter
+@Setter
+@SuppressWarnings("unused")
+public class LocaleChangeParamInterceptor extends LocaleChangeInterceptor {
+    /**
+     * The holder of the configuration snapshot, which provides the reloadable parameter name and invalid locale handling if present
+     */
+    private LocaleChangeSnapshotHolder snapshotHolder;
+
+    @Nonnull
+    @Override
+    public String getParamName() {
+        return (snapshotHolder != null) ? snapshotHolder.get().getParamName() : super.getParamName();
+    }
+
+    @Override
+    public boolean isIgnoreInvalidLocale() {
+        return (snapshotHolder != null) ? snapshotHolder.get().isIgnoreInvalidLocale() : super.isIgnoreInvalidLocale();
+    }
+
+    @Override
+    public boolean preHandle(@Nonnull HttpServletRequest request, @Nonnull HttpServletResponse response, @Nonnull Object handler) throws ServletException {
+        LocaleResolver localeResolver = RequestContextUtils.getLocaleResolver(request);
+        if (!(localeResolver instanceof CookieLocaleContextResolver resolver)) {
+            return super.preHandle(request, response, handler);
+        }
+        if (!checkHttpMethod(request.getMethod())) {
+            return true;
+        }
+        String value = request.getParameter(getParamName());
+        Locale locale = StringUtils.isBlank(value) ? null : resolver.parseRawLocale(value);
+        if (locale == null && StringUtils.isNotBlank(value) && !isIgnoreInvalidLocale()) {
+            throw new IllegalArgumentException("Invalid locale value '" + value + "'");    // $NON-NLS-1$
+        }
+        TimeZone timeZone = resolver.getTimeZoneFromParam(request);
+        if (timeZone != null) {
+            resolver.setLocaleContext(request, response, new SimpleTimeZoneAwareLocaleContext(locale != null ? locale : resolver.resolveLocale(request), timeZone));
+        } else if (locale != null) {
+            resolver.setLocale(request, response, locale);
+        }
+        return true;
+    }
+
+    private boolean checkHttpMethod(@Nonnull String method) {
+        String[] methods = getHttpMethods();
+        return ObjectUtils.isEmpty(methods) || StringUtils.equalsAnyIgnoreCase(method, methods);
+    }
+}
@@ -11,26 +11,25 @@
 package com.yookue.springstarter.localechange.interceptor;
 
 
-import java.util.LinkedHashMap;
+import java.util.Locale;
 import java.util.Map;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.context.ApplicationListener;
 import org.springframework.context.MessageSource;
 import org.springframework.context.MessageSourceAware;
 import org.springframework.context.i18n.LocaleContextHolder;
-import org.springframework.util.CollectionUtils;
 import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.ModelAndView;
-import com.yookue.commonplexus.javaseutil.util.MapPlainWraps;
-import com.yookue.commonplexus.springutil.util.MessageSourceWraps;
 import com.yookue.commonplexus.springutil.util.WebUtilsWraps;
+import com.yookue.springstarter.localechange.event.MessageSourceReloadedEvent;
 import com.yookue.springstarter.localechange.property.LocaleChangeProperties;
-import lombok.RequiredArgsConstructor;
-import lombok.Setter;
+import com.yookue.springstarter.localechange.support.LocaleChangeSnapshotHolder;
+import com.yookue.springstarter.localechange.support.LocaleResolutionRecorder;
+import com.yookue.springstarter.localechange.support.LocaleTagNamesResolver;
 
 
 /**
@@ -38,24 +37,61 @@ import lombok.Setter;
  *
  * @author David Hsing
  */
-@RequiredArgsConstructor
-public class LocaleChangeViewInterceptor implements HandlerInterceptor, MessageSourceAware {
-    private final LocaleChangeProperties properties;
+@SuppressWarnings("unused")
+public class LocaleChangeViewInterceptor implements HandlerInterceptor, MessageSourceAware, ApplicationListener<MessageSourceReloadedEvent> {
+    private final LocaleChangeSnapshotHolder snapshotHolder;
+    private final LocaleTagNamesResolver tagNamesResolver;
+    private LocaleResolutionRecorder recorder = LocaleResolutionRecorder.NONE;
 
-    @Setter
-    protected MessageSource messageSource;
+    public LocaleChangeViewInterceptor(@Nonnull LocaleChangeProperties properties) {
+        this(new LocaleChangeSnapshotHolder(properties));
+    }
+
+    public LocaleChangeViewInterceptor(@Nonnull LocaleChangeSnapshotHolder snapshotHolder) {
+        this.snapshotHolder = snapshotHolder;
+        this.tagNamesResolver = new LocaleTagNamesResolver(snapshotHolder);
+    }
+
+    @Override
+    public void setMessageSource(@Nullable MessageSource messageSource) {
+        tagNamesResolver.setMessageSource(messageSource);
+    }
+
+    /**
+     * Sets the recorder of post handle time, and registers the tag names snapshots to it
+     */
+    public void setRecorder(@Nullable LocaleResolutionRecorder recorder) {
+        this.recorder = (recorder == null) ? LocaleResolutionRecorder.NONE : recorder;
+        this.recorder.registerCache("tag-names", tagNamesResolver.getSnapshots());    // $NON-NLS-1$
+    }
+
+    @Override
+    public void onApplicationEvent(@Nonnull MessageSourceReloadedEvent event) {
+        clearTagNamesSnapshots();
+    }
 
     @Override
     public void postHandle(@Nonnull HttpServletRequest request, @Nonnull HttpServletResponse response, @Nonnull Object handler, @Nullable ModelAndView view) {
-        LocaleChangeProperties.ModelAndView props = properties.getModelAndView();
-        if (WebUtilsWraps.isCanonicalModelView(view) && StringUtils.isNotBlank(props.getViewAttribute()) && !CollectionUtils.isEmpty(props.getTagNames())) {
-            if (BooleanUtils.isNotTrue(props.getTagMultilingual())) {
-                view.addObject(props.getViewAttribute(), props.getTagNames());
-                return;
+        long startTime = System.nanoTime();
+        String attribute = snapshotHolder.get().getViewAttribute();
+        if (WebUtilsWraps.isCanonicalModelView(view) && StringUtils.isNotBlank(attribute)) {
+            Map<String, String> tagNames = getTagNamesSnapshot(LocaleContextHolder.getLocale());
+            if (tagNames != null) {
+                view.addObject(attribute, tagNames);
             }
-            Map<String, String> tagNames = new LinkedHashMap<>(props.getTagNames());
-            MapPlainWraps.recompute(tagNames, (key, value) -> MessageSourceWraps.getMessage(messageSource, value, value, LocaleContextHolder.getLocale()));
-            view.addObject(props.getViewAttribute(), tagNames);
         }
+        recorder.recordPostHandleTime(System.nanoTime() - startTime);
+    }
+
+    /**
+     * Returns the tag names of the locale, the translated ones are immutable and shared by all requests of the same locale
+     */
+    @Nullable
+    public Map<String, String> getTagNamesSnapshot(@Nonnull Locale locale) {
+        return tagNamesResolver.resolveTagNames(locale);
+    }
+
+    public void clearTagNamesSnapshots() {
+        tagNamesResolver.clearSnapshots();
     }
 }
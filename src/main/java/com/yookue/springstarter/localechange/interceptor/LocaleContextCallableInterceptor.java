@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2022 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.springstarter.localechange.interceptor;
+
+
+import java.util.concurrent.Callable;
+import jakarta.annotation.Nonnull;
+import org.springframework.context.i18n.LocaleContext;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import com.yookue.springstarter.localechange.support.LocaleContextTaskDecorator;
+
+
+/**
+ * {@link org.springframework.web.context.request.async.CallableProcessingInterceptor} that binds the locale context of the request to the threads of async {@link java.util.concurrent.Callable}s
+ * <p>
+ * The locale context is captured once in the request thread, then bound and reset around the {@code Callable} in the async thread,
+ * so it works with the async executors that are not decorated by a {@link org.springframework.core.task.TaskDecorator} too
+ *
+ * @author David Hsing
+ * @see org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer#registerCallableInterceptors
+ */
+@SuppressWarnings("unused")
+public class LocaleContextCallableInterceptor implements CallableProcessingInterceptor {
+    private static final String LOCALE_CONTEXT_ATTRIBUTE = LocaleContextCallableInterceptor.class.getName() + ".LOCALE_CONTEXT";    // $NON-NLS-1$
+
+    @Override
+    public <T> void beforeConcurrentHandling(@Nonnull NativeWebRequest request, @Nonnull Callable<T> task) {
+        LocaleContext context = LocaleContextTaskDecorator.capture(LocaleContextHolder.getLocaleContext());
+        if (context != null) {
+            request.setAttribute(LOCALE_CONTEXT_ATTRIBUTE, context, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    @Override
+    public <T> void preProcess(@Nonnull NativeWebRequest request, @Nonnull Callable<T> task) {
+        if (request.getAttribute(LOCALE_CONTEXT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof LocaleContext context) {
+            LocaleContextHolder.setLocaleContext(context);
+        }
+    }
+
+    @Override
+    public <T> void postProcess(@Nonnull NativeWebRequest request, @Nonnull Callable<T> task, Object result) {
+        if (request.getAttribute(LOCALE_CONTEXT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null) {
+            LocaleContextHolder.resetLocaleContext();
+        }
+    }
+}
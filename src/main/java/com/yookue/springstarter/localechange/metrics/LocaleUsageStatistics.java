@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2022 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.springstarter.localechange.metrics;
+
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import com.yookue.springstarter.localechange.enumeration.LocaleResolutionSource;
+import com.yookue.springstarter.localechange.support.LocaleResolutionRecorder;
+import com.yookue.springstarter.localechange.support.LocaleTagRegistry;
+import com.yookue.springstarter.localechange.support.TopValuesSketch;
+
+
+/**
+ * {@link com.yookue.springstarter.localechange.support.LocaleResolutionRecorder} that keeps the usage statistics of locales in memory
+ * <p>
+ * The resolutions are counted per supported locale (indexed by the ids of {@link com.yookue.springstarter.localechange.support.LocaleTagRegistry}) and per resolution source,
+ * and the raw values that are invalid or not supported are kept in fixed memory sketches of the most frequent values.
+ * All the counters are {@link java.util.concurrent.atomic.LongAdder}s, so concurrent requests do not contend on them
+ *
+ * @author David Hsing
+ * @see com.yookue.springstarter.localechange.support.TopValuesSketch
+ */
+@SuppressWarnings("unused")
+public class LocaleUsageStatistics implements LocaleResolutionRecorder {
+    public static final String OTHER_LOCALE = "other";    // $NON-NLS-1$
+    private static final LocaleResolutionSource[] SOURCES = LocaleResolutionSource.values();
+    private final LongAdder[] sourceCounts = newAdders(SOURCES.length);
+    private final LongAdder[] invalidCounts = newAdders(SOURCES.length);
+    private final TopValuesSketch invalidValues = new TopValuesSketch();
+    private final TopValuesSketch unsupportedValues = new TopValuesSketch();
+    private volatile LocaleCounts localeCounts;
+
+    public LocaleUsageStatistics(@Nonnull LocaleTagRegistry tagRegistry) {
+        this.localeCounts = new LocaleCounts(tagRegistry, newAdders(tagRegistry.size() + 1));
+    }
+
+    @Override
+    public void recordResolution(@Nonnull LocaleResolutionSource source, @Nullable Locale locale) {
+        LocaleCounts counts = localeCounts;
+        int id = counts.tagRegistry().idOf(locale);
+        counts.adders()[(id == LocaleTagRegistry.NOT_FOUND) ? counts.adders().length - 1 : id].increment();
+        sourceCounts[source.ordinal()].increment();
+    }
+
+    @Override
+    public void recordInvalidValue(@Nonnull LocaleResolutionSource source) {
+        invalidCounts[source.ordinal()].increment();
+    }
+
+    @Override
+    public void recordInvalidValue(@Nonnull LocaleResolutionSource source, @Nonnull String value) {
+        invalidCounts[source.ordinal()].increment();
+        invalidValues.add(value);
+    }
+
+    @Override
+    public void recordUnsupportedValue(@Nonnull LocaleResolutionSource source, @Nonnull String value) {
+        unsupportedValues.add(value);
+    }
+
+    /**
+     * Sets the tag registry when the supported locales are reloaded, which keeps the counts of the locales that are still supported
+     */
+    public void setTagRegistry(@Nonnull LocaleTagRegistry tagRegistry) {
+        LocaleCounts previous = localeCounts;
+        LongAdder[] adders = newAdders(tagRegistry.size() + 1);
+        for (int i = 0; i < previous.tagRegistry().size(); i++) {
+            int id = tagRegistry.idOf(previous.tagRegistry().getLocale(i));
+            adders[(id == LocaleTagRegistry.NOT_FOUND) ? adders.length - 1 : id].add(previous.adders()[i].sum());
+        }
+        adders[adders.length - 1].add(previous.adders()[previous.adders().length - 1].sum());
+        localeCounts = new LocaleCounts(tagRegistry, adders);
+    }
+
+    /**
+     * Returns the resolution counts of the supported locales (keyed by language tags), and the count of the other locales
+     */
+    @Nonnull
+    public Map<String, Long> getLocaleCounts() {
+        LocaleCounts counts = localeCounts;
+        Map<String, Long> result = new LinkedHashMap<>(counts.adders().length * 2);
+        for (int i = 0; i < counts.tagRegistry().size(); i++) {
+            result.put(counts.tagRegistry().getLanguageTag(i), counts.adders()[i].sum());
+        }
+        result.put(OTHER_LOCALE, counts.adders()[counts.adders().length - 1].sum());
+        return result;
+    }
+
+    /**
+     * Returns the resolution counts of the resolution sources
+     */
+    @Nonnull
+    public Map<String, Long> getSourceCounts() {
+        return sumBySource(sourceCounts);
+    }
+
+    /**
+     * Returns the invalid value counts of the resolution sources
+     */
+    @Nonnull
+    public Map<String, Long> getInvalidCounts() {
+        return sumBySource(invalidCounts);
+    }
+
+    /**
+     * Returns the most frequent invalid values
+     */
+    @Nonnull
+    public List<TopValuesSketch.ValueCount> getInvalidValues() {
+        return invalidValues.getTopValues();
+    }
+
+    /**
+     * Returns the most frequent values of the locales that are not supported
+     */
+    @Nonnull
+    public List<TopValuesSketch.ValueCount> getUnsupportedValues() {
+        return unsupportedValues.getTopValues();
+    }
+
+    public void reset() {
+        for (LongAdder adder : localeCounts.adders()) {
+            adder.reset();
+        }
+        for (LocaleResolutionSource source : SOURCES) {
+            sourceCounts[source.ordinal()].reset();
+            invalidCounts[source.ordinal()].reset();
+        }
+        invalidValues.clear();
+        unsupportedValues.clear();
+    }
+
+    @Nonnull
+    private static Map<String, Long> sumBySource(@Nonnull LongAdder[] adders) {
+        Map<String, Long> result = new LinkedHashMap<>(SOURCES.length * 2);
+        for (LocaleResolutionSource source : SOURCES) {
+            result.put(source.getValue(), adders[source.ordinal()].sum());
+        }
+        return result;
+    }
+
+    @Nonnull
+    private static LongAdder[] newAdders(int size) {
+        LongAdder[] result = new LongAdder[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = new LongAdder();
+        }
+        return result;
+    }
+
+
+    /**
+     * The tag registry and the counts of its locales, the last count is of the other locales
+     */
+    private record LocaleCounts(@Nonnull LocaleTagRegistry tagRegistry, @Nonnull LongAdder[] adders) {
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2022 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.springstarter.localechange.metrics;
+
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import com.yookue.springstarter.localechange.enumeration.LocaleResolutionSource;
+import com.yookue.springstarter.localechange.support.BoundedConcurrentCache;
+import com.yookue.springstarter.localechange.support.LocaleResolutionRecorder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+
+/**
+ * {@link com.yookue.springstarter.localechange.support.LocaleResolutionRecorder} that backed by Micrometer
+ * <p>
+ * All the meters are registered upfront, one counter per resolution source and supported locale, so recording is just a lookup and an increment.
+ * The locales that are not supported are counted with the locale tag {@code other}, and the counters are rebuilt when the supported locales are reloaded
+ *
+ * @author David Hsing
+ */
+@SuppressWarnings("unused")
+public class MicrometerLocaleResolutionRecorder implements LocaleResolutionRecorder {
+    public static final String RESOLUTIONS = "locale.change.resolutions";    // $NON-NLS-1$
+    public static final String INVALID_VALUES = "locale.change.invalid.values";    // $NON-NLS-1$
+    public static final String FILTER_TIME = "locale.change.filter.time";    // $NON-NLS-1$
+    public static final String POST_HANDLE_TIME = "locale.change.post.handle.time";    // $NON-NLS-1$
+    public static final String CACHE_SIZE = "locale.change.cache.size";    // $NON-NLS-1$
+    public static final String CACHE_GETS = "locale.change.cache.gets";    // $NON-NLS-1$
+    public static final String CACHE_EVICTIONS = "locale.change.cache.evictions";    // $NON-NLS-1$
+    private static final String OTHER_LOCALE = "other";    // $NON-NLS-1$
+    private static final LocaleResolutionSource[] SOURCES = LocaleResolutionSource.values();
+    private final MeterRegistry registry;
+    private volatile Map<Locale, Counter[]> localeCounters = Map.of();
+    private final Counter[] otherCounters;
+    private final Counter[] invalidCounters;
+    private final Timer filterTimer;
+    private final Timer postHandleTimer;
+
+    public MicrometerLocaleResolutionRecorder(@Nonnull MeterRegistry registry, @Nonnull Collection<Locale> supportedLocales) {
+        this.registry = registry;
+        setSupportedLocales(supportedLocales);
+        this.otherCounters = registerCounters(OTHER_LOCALE);
+        this.invalidCounters = new Counter[SOURCES.length];
+        for (LocaleResolutionSource source : SOURCES) {
+            invalidCounters[source.ordinal()] = Counter.builder(INVALID_VALUES).description("Count of invalid locale values").tag("source", source.getValue()).register(registry);    // $NON-NLS-1$ // $NON-NLS-2$
+        }
+        this.filterTimer = Timer.builder(FILTER_TIME).description("Time of resolving locales in the request context filter").register(registry);    // $NON-NLS-1$
+        this.postHandleTimer = Timer.builder(POST_HANDLE_TIME).description("Time of adding tag names to the views").register(registry);    // $NON-NLS-1$
+    }
+
+    /**
+     * Rebuilds the counters of the supported locales, the counts of the locales that are still supported are kept, and the counters of the others are removed
+     */
+    public synchronized void setSupportedLocales(@Nonnull Collection<Locale> supportedLocales) {
+        Map<Locale, Counter[]> previous = localeCounters;
+        Map<Locale, Counter[]> counters = new HashMap<>(supportedLocales.size());
+        for (Locale locale : supportedLocales) {
+            Counter[] existing = previous.get(locale);
+            counters.putIfAbsent(locale, (existing != null) ? existing : registerCounters(locale.toLanguageTag()));
+        }
+        previous.forEach((locale, existing) -> {
+            if (!counters.containsKey(locale)) {
+                for (Counter counter : existing) {
+                    registry.remove(counter);
+                }
+            }
+        });
+        localeCounters = counters;
+    }
+
+    @Override
+    public void recordResolution(@Nonnull LocaleResolutionSource source, @Nullable Locale locale) {
+        Counter[] counters = (locale == null) ? null : localeCounters.get(locale);
+        (counters == null ? otherCounters : counters)[source.ordinal()].increment();
+    }
+
+    @Override
+    public void recordInvalidValue(@Nonnull LocaleResolutionSource source) {
+        invalidCounters[source.ordinal()].increment();
+    }
+
+    @Override
+    public void recordFilterTime(long nanos) {
+        filterTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordPostHandleTime(long nanos) {
+        postHandleTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void registerCache(@Nonnull String name, @Nonnull BoundedConcurrentCache<?, ?> cache) {
+        Gauge.builder(CACHE_SIZE, cache, BoundedConcurrentCache::size).description("Entry count of the cache").tag("cache", name).register(registry);    // $NON-NLS-1$ // $NON-NLS-2$
+        FunctionCounter.builder(CACHE_GETS, cache, BoundedConcurrentCache::getHitCount).description("Hit count of the cache").tags("cache", name, "result", "hit").register(registry);    // $NON-NLS-1$ // $NON-NLS-2$ // $NON-NLS-3$ // $NON-NLS-4$
+        FunctionCounter.builder(CACHE_GETS, cache, BoundedConcurrentCache::getMissCount).description("Miss count of the cache").tags("cache", name, "result", "miss").register(registry);    // $NON-NLS-1$ // $NON-NLS-2$ // $NON-NLS-3$ // $NON-NLS-4$
+        FunctionCounter.builder(CACHE_EVICTIONS, cache, BoundedConcurrentCache::getEvictionCount).description("Eviction count of the cache").tag("cache", name).register(registry);    // $NON-NLS-1$ // $NON-NLS-2$
+    }
+
+    @Nonnull
+    private Counter[] registerCounters(@Nonnull String localeTag) {
+        Counter[] result = new Counter[SOURCES.length];
+        for (LocaleResolutionSource source : SOURCES) {
+            result[source.ordinal()] = Counter.builder(RESOLUTIONS).description("Count of resolved locales").tags("source", source.getValue(), "locale", localeTag).register(registry);    // $NON-NLS-1$ // $NON-NLS-2$ // $NON-NLS-3$
+        }
+        return result;
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright (c) 2022 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.springstarter.localechange.processor;
+
+
+import java.util.Locale;
+import java.util.Map;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.util.CollectionUtils;
+import org.thymeleaf.context.ITemplateContext;
+import org.thymeleaf.context.IWebContext;
+import org.thymeleaf.model.IModel;
+import org.thymeleaf.model.IModelFactory;
+import org.thymeleaf.model.IProcessableElementTag;
+import org.thymeleaf.processor.element.AbstractElementTagProcessor;
+import org.thymeleaf.processor.element.IElementTagStructureHandler;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.web.IWebRequest;
+import org.unbescape.html.HtmlEscape;
+import com.yookue.springstarter.localechange.enumeration.LocaleResolverType;
+import com.yookue.springstarter.localechange.property.LocaleChangeProperties;
+import com.yookue.springstarter.localechange.support.BoundedConcurrentCache;
+import com.yookue.springstarter.localechange.support.LocaleChangeSnapshot;
+import com.yookue.springstarter.localechange.support.LocaleChangeSnapshotHolder;
+import com.yookue.springstarter.localechange.support.LocaleTagRegistry;
+
+
+/**
+ * {@link org.thymeleaf.processor.element.IElementTagProcessor} that replaces {@code <lc:switcher/>} with the markup of a language switcher
+ * <p>
+ * The markup is cached per locale, css class and source of the tag names (the view attribute or the configured ones), and is rebuilt when the tag names of the view (the snapshots of a locale) are replaced.
+ * For each request, only the query string (without the locale parameter) is spliced into the links, so a render is a cache hit plus a concatenation.
+ * With the {@code PATH} or {@code HOST} locale resolver types, the links point to the prefixed paths or the mapped hosts instead
+ *
+ * @author David Hsing
+ */
+@SuppressWarnings("unused")
+public class LocaleChangeSwitcherProcessor extends AbstractElementTagProcessor {
+    public static final String ELEMENT_NAME = "switcher";    // $NON-NLS-1$
+    private static final String CLASS_ATTRIBUTE = "class";    // $NON-NLS-1$
+    private final LocaleChangeSnapshotHolder snapshotHolder;
+    private final BoundedConcurrentCache<SwitcherKey, SwitcherMarkup> markups = new BoundedConcurrentCache<>(128);
+
+    public LocaleChangeSwitcherProcessor(@Nonnull String dialectPrefix, int precedence, @Nonnull LocaleChangeProperties properties) {
+        this(dialectPrefix, precedence, new LocaleChangeSnapshotHolder(properties));
+    }
+
+    public LocaleChangeSwitcherProcessor(@Nonnull String dialectPrefix, int precedence, @Nonnull LocaleChangeSnapshotHolder snapshotHolder) {
+        super(TemplateMode.HTML, dialectPrefix, ELEMENT_NAME, true, null, false, precedence);
+        this.snapshotHolder = snapshotHolder;
+    }
+
+    @Override
+    protected void doProcess(@Nonnull ITemplateContext context, @Nonnull IProcessableElementTag tag, @Nonnull IElementTagStructureHandler handler) {
+        LocaleChangeSnapshot snapshot = snapshotHolder.get();
+        Map<String, String> viewTagNames = getViewTagNames(context, snapshot);
+        Map<String, String> tagNames = (viewTagNames != null) ? viewTagNames : snapshot.getTagNames();
+        if (CollectionUtils.isEmpty(tagNames)) {
+            handler.removeElement();
+            return;
+        }
+        IWebRequest request = (context instanceof IWebContext webContext) ? webContext.getExchange().getRequest() : null;
+        SwitcherKey key = buildKey(context, tag, request, snapshot.getLocaleResolverType(), viewTagNames != null);
+        SwitcherMarkup markup = markups.getIfPresent(key);
+        if (markup == null || markup.tagNames() != tagNames) {
+            markup = buildMarkup(key, tagNames, snapshot);
+            markups.put(key, markup);
+        }
+        String query = (request == null) ? null : request.getQueryString();
+        String querySplice = markup.querySpliced() ? removeParam(query, snapshot.getParamName()) : StringUtils.EMPTY;
+        String pathSplice = markup.pathSpliced() ? pathSuffix((request == null) ? null : request.getPathWithinApplication(), query, snapshot.getParamName()) : StringUtils.EMPTY;
+        IModelFactory factory = context.getModelFactory();
+        IModel model = factory.createModel(factory.createText(markup.render(querySplice, pathSplice)));
+        handler.replaceWith(model, false);
+    }
+
+    /**
+     * Returns the tag names that added to the model by the view interceptor (which may be translated), or {@code null} if absent
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    private Map<String, String> getViewTagNames(@Nonnull ITemplateContext context, @Nonnull LocaleChangeSnapshot snapshot) {
+        String attribute = snapshot.getViewAttribute();
+        Object variable = StringUtils.isBlank(attribute) ? null : context.getVariable(attribute);
+        return (variable instanceof Map<?, ?> map) ? (Map<String, String>) map : null;
+    }
+
+    /**
+     * Returns the cache key of markups, which includes the source of the tag names, and the parts of the current request that the absolute links depend on
+     */
+    @Nonnull
+    private SwitcherKey buildKey(@Nonnull ITemplateContext context, @Nonnull IProcessableElementTag tag, @Nullable IWebRequest request, @Nonnull LocaleResolverType resolverType, boolean viewTagNames) {
+        String cssClass = tag.getAttributeValue(CLASS_ATTRIBUTE);
+        if (request == null || (resolverType != LocaleResolverType.PATH && resolverType != LocaleResolverType.HOST)) {
+            return new SwitcherKey(context.getLocale(), cssClass, viewTagNames, null, null, null);
+        }
+        if (resolverType == LocaleResolverType.PATH) {
+            return new SwitcherKey(context.getLocale(), cssClass, viewTagNames, request.getApplicationPath(), null, null);
+        }
+        return new SwitcherKey(context.getLocale(), cssClass, viewTagNames, request.getApplicationPath(), request.getScheme(), request.getServerPort());
+    }
+
+    /**
+     * Builds the markup, whose links are split into segments around the per request part of the hrefs
+     * <p>
+     * The links are {@code ?lang=zh-CN} that preceded by the query string, {@code /context/zh-CN} with the {@code PATH} resolver type,
+     * or {@code https://zh.example.com/context} with the {@code HOST} resolver type (if an exact host is mapped to the locale),
+     * and the latter two are followed by the path within application and the query string
+     */
+    @Nonnull
+    private SwitcherMarkup buildMarkup(@Nonnull SwitcherKey key, @Nonnull Map<String, String> tagNames, @Nonnull LocaleChangeSnapshot snapshot) {
+        LocaleTagRegistry tagRegistry = snapshot.getTagRegistry();
+        int currentId = tagRegistry.idOf(key.locale());
+        String currentTag = (key.locale() == null) ? null : key.locale().toLanguageTag();
+        String paramName = HtmlEscape.escapeHtml5Xml(snapshot.getParamName());
+        String applicationPath = HtmlEscape.escapeHtml5Xml(StringUtils.defaultString(key.applicationPath()));
+        LocaleResolverType resolverType = snapshot.getLocaleResolverType();
+        String[] segments = new String[tagNames.size() + 1];
+        boolean[] pathSplices = new boolean[tagNames.size()];
+        StringBuilder builder = new StringBuilder(64 * segments.length).append("<ul");    // $NON-NLS-1$
+        if (StringUtils.isNotBlank(key.cssClass())) {
+            builder.append(" class=\"").append(HtmlEscape.escapeHtml5Xml(key.cssClass())).append('"');    // $NON-NLS-1$
+        }
+        builder.append(" role=\"menu\">");    // $NON-NLS-1$
+        int index = 0;
+        for (Map.Entry<String, String> entry : tagNames.entrySet()) {
+            String languageTag = HtmlEscape.escapeHtml5Xml(entry.getKey());
+            String host = (resolverType == LocaleResolverType.HOST && key.scheme() != null) ? getHost(snapshot, entry.getKey()) : null;
+            boolean active = (currentId == LocaleTagRegistry.NOT_FOUND) ? StringUtils.equals(entry.getKey(), currentTag) : tagRegistry.idOf(entry.getKey()) == currentId;
+            builder.append(active ? "<li class=\"active\">" : "<li>");    // $NON-NLS-1$ // $NON-NLS-2$
+            builder.append("<a href=\"");    // $NON-NLS-1$
+            if (resolverType == LocaleResolverType.PATH && key.applicationPath() != null) {
+                builder.append(applicationPath).append('/').append(languageTag);
+                pathSplices[index] = true;
+            } else if (host != null) {
+                builder.append(HtmlEscape.escapeHtml5Xml(key.scheme())).append("://").append(HtmlEscape.escapeHtml5Xml(host));    // $NON-NLS-1$
+                if (key.serverPort() != null && !isDefaultPort(key.scheme(), key.serverPort())) {
+                    builder.append(':').append(key.serverPort());
+                }
+                builder.append(applicationPath);
+                pathSplices[index] = true;
+            } else {
+                builder.append('?');
+            }
+            segments[index++] = builder.toString();
+            builder.setLength(0);
+            if (!pathSplices[index - 1]) {
+                builder.append(paramName).append('=').append(languageTag);
+            }
+            builder.append("\" hreflang=\"").append(languageTag).append("\" lang=\"").append(languageTag).append("\">");    // $NON-NLS-1$ // $NON-NLS-2$ // $NON-NLS-3$
+            builder.append("<span>").append(HtmlEscape.escapeHtml5Xml(StringUtils.defaultString(entry.getValue()))).append("</span></a></li>");    // $NON-NLS-1$ // $NON-NLS-2$
+        }
+        builder.append("</ul>");    // $NON-NLS-1$
+        segments[index] = builder.toString();
+        return new SwitcherMarkup(tagNames, segments, pathSplices, String.join(StringUtils.EMPTY, segments));
+    }
+
+    @Nullable
+    private String getHost(@Nonnull LocaleChangeSnapshot snapshot, @Nonnull String languageTag) {
+        int id = snapshot.getTagRegistry().idOf(languageTag);
+        return (id == LocaleTagRegistry.NOT_FOUND) ? null : snapshot.getHostMatcher().getHost(snapshot.getTagRegistry().getLocale(id));
+    }
+
+    private static boolean isDefaultPort(@Nonnull String scheme, int port) {
+        return port <= 0 || (port == 80 && StringUtils.equalsIgnoreCase(scheme, "http")) || (port == 443 && StringUtils.equalsIgnoreCase(scheme, "https"));    // $NON-NLS-1$ // $NON-NLS-2$
+    }
+
+    /**
+     * Returns the path within application (without the locale prefix) and the query string without the parameter, in HTML escaped form
+     */
+    @Nonnull
+    static String pathSuffix(@Nullable String path, @Nullable String query, @Nullable String paramName) {
+        String result = HtmlEscape.escapeHtml5Xml(StringUtils.defaultIfEmpty(path, "/"));    // $NON-NLS-1$
+        String params = removeParam(query, paramName);
+        return params.isEmpty() ? result : result + '?' + StringUtils.removeEnd(params, "&amp;");    // $NON-NLS-1$
+    }
+
+    /**
+     * Returns the query string without the parameter, in HTML escaped form and suffixed with an ampersand if not empty
+     */
+    @Nonnull
+    static String removeParam(@Nullable String query, @Nullable String paramName) {
+        if (StringUtils.isEmpty(query)) {
+            return StringUtils.EMPTY;
+        }
+        if (StringUtils.isEmpty(paramName) || !query.contains(paramName)) {
+            return HtmlEscape.escapeHtml5Xml(query) + "&amp;";    // $NON-NLS-1$
+        }
+        StringBuilder builder = new StringBuilder(query.length() + 8);
+        int start = 0, length = query.length();
+        while (start <= length) {
+            int end = query.indexOf('&', start);
+            if (end < 0) {
+                end = length;
+            }
+            int nameEnd = query.indexOf('=', start);
+            if (nameEnd < 0 || nameEnd > end) {
+                nameEnd = end;
+            }
+            if (end > start && !query.regionMatches(start, paramName, 0, Math.max(paramName.length(), nameEnd - start))) {
+                builder.append(HtmlEscape.escapeHtml5Xml(query.substring(start, end))).append("&amp;");    // $NON-NLS-1$
+            }
+            start = end + 1;
+        }
+        return builder.toString();
+    }
+
+
+    private record SwitcherKey(@Nullable Locale locale, @Nullable String cssClass, boolean viewTagNames, @Nullable String applicationPath, @Nullable String scheme, @Nullable Integer serverPort) {
+    }
+
+
+    private record SwitcherMarkup(@Nonnull Map<String, String> tagNames, @Nonnull String[] segments, @Nonnull boolean[] pathSplices, @Nonnull String markup, boolean querySpliced, boolean pathSpliced) {
+        SwitcherMarkup(@Nonnull Map<String, String> tagNames, @Nonnull String[] segments, @Nonnull boolean[] pathSplices, @Nonnull String markup) {
+            this(tagNames, segments, pathSplices, markup, ArrayUtils.contains(pathSplices, false), ArrayUtils.contains(pathSplices, true));
+        }
+
+        @Nonnull
+        String render(@Nonnull String querySplice, @Nonnull String pathSplice) {
+            if (querySplice.isEmpty() && pathSplice.isEmpty()) {
+                return markup;
+            }
+            StringBuilder builder = new StringBuilder(markup.length() + Math.max(querySplice.length(), pathSplice.length()) * pathSplices.length);
+            for (int i = 0; i < pathSplices.length; i++) {
+                builder.append(segments[i]).append(pathSplices[i] ? pathSplice : querySplice);
+            }
+            return builder.append(segments[segments.length - 1]).toString();
+        }
+    }
+}
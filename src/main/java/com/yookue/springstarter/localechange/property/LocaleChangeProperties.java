@@ -27,11 +27,13 @@ import java.util.Map;
 import java.util.Set;
 import java.util.TimeZone;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 import com.yookue.commonplexus.javaseutil.constant.StringVariantConst;
 import com.yookue.commonplexus.springutil.constant.AntPathConst;
 import com.yookue.commonplexus.springutil.constant.SpringAttributeConst;
 import com.yookue.springstarter.localechange.config.LocaleChangeViewConfiguration;
 import com.yookue.springstarter.localechange.enumeration.LocaleResolverType;
+import com.yookue.springstarter.localechange.enumeration.TaskDecoratorType;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
@@ -93,6 +95,41 @@ public class LocaleChangeProperties implements Serializable {
      */
     private final FixedLocaleResolver fixedLocaleResolver = new FixedLocaleResolver();
 
+    /**
+     * Accept header based locale resolver attributes
+     */
+    private final AcceptHeaderLocaleResolver acceptHeaderLocaleResolver = new AcceptHeaderLocaleResolver();
+
+    /**
+     * Path prefix based locale resolver attributes
+     */
+    private final PathLocaleResolver pathLocaleResolver = new PathLocaleResolver();
+
+    /**
+     * Host based locale resolver attributes
+     */
+    private final HostLocaleResolver hostLocaleResolver = new HostLocaleResolver();
+
+    /**
+     * Locale variant http headers attributes
+     */
+    private final VariantHeaders variantHeaders = new VariantHeaders();
+
+    /**
+     * Per-locale page cache attributes
+     */
+    private final PageCache pageCache = new PageCache();
+
+    /**
+     * Message source warm-up attributes
+     */
+    private final WarmUp warmUp = new WarmUp();
+
+    /**
+     * Async propagation attributes
+     */
+    private final AsyncPropagation asyncPropagation = new AsyncPropagation();
+
 
     /**
      * Properties for model and view
@@ -216,9 +253,10 @@ public class LocaleChangeProperties implements Serializable {
         /**
          * Indicates whether thread inheritable or not
          * <p>
-         * Default is {@code true}
+         * Default is {@code true}, or {@code false} when virtual threads are enabled ({@code spring.threads.virtual.enabled}).
+         * When not inheritable, the locale context flows only to the tasks that capture it via Micrometer context propagation
          */
-        private Boolean threadInheritable = true;
+        private Boolean threadInheritable;
     }
 
 
@@ -279,6 +317,39 @@ public class LocaleChangeProperties implements Serializable {
          */
         private Boolean rejectInvalid = true;
 
+        /**
+         * The maximum number of raw locale values to cache the parsed results
+         * <p>
+         * Default is {@code 512}
+         */
+        private Integer parseCacheSize = 512;
+
+        /**
+         * Indicates whether to fold the requested locales onto the keys of {@code tagNames} or not
+         * <p>
+         * The fallback chain is like {@code zh-Hant-TW -> zh-TW -> zh -> default locale}, so only the supported locales reach the downstream caches.
+         * Default is {@code false}, which keeps the requested locales as they are
+         */
+        private Boolean localeNegotiation = false;
+
+        /**
+         * Indicates whether to skip writing the cookie if it holds the same value already or not
+         * <p>
+         * Default is {@code false}, since the skipped cookies do not extend their {@code maxAge}.
+         * Set it to {@code true}, so that changing to the current locale does not make the response uncacheable
+         */
+        private Boolean writeAvoidance = false;
+
+        /**
+         * The name of the request parameter that specifies the time zone, such as {@code tz}
+         */
+        private String timeZoneParamName;
+
+        /**
+         * The name of the request header that specifies the time zone, such as {@code Time-Zone}
+         */
+        private String timeZoneHeaderName;
+
         /**
          * Set a fixed locale that this resolver will return if no cookie is found
          */
@@ -310,6 +381,14 @@ public class LocaleChangeProperties implements Serializable {
          */
         private String timezoneName = SpringAttributeConst.LOCALE_RESOLVER_TIMEZONE;
 
+        /**
+         * Indicates whether to avoid needless session writes or not
+         * <p>
+         * If {@code true}, sessions are not created for the default locale, unchanged values are not written again,
+         * and the locale and time zone are stored as one compact string attribute that named {@code sessionName}
+         */
+        private Boolean writeAvoidance = false;
+
         /**
          * Set a fixed locale that this resolver will return if no cookie is found
          */
@@ -341,4 +420,284 @@ public class LocaleChangeProperties implements Serializable {
          */
         private TimeZone defaultTimeZone;
     }
+
+
+    /**
+     * Properties for accept header locale resolver
+     *
+     * @author David Hsing
+     * @see com.yookue.springstarter.localechange.resolver.AcceptHeaderLocaleContextResolver
+     */
+    @Getter
+    @Setter
+    @ToString
+    public static class AcceptHeaderLocaleResolver implements Serializable {
+        /**
+         * The max count of the negotiated results that keyed by the raw header values
+         */
+        private Integer cacheSize = 4096;
+
+        /**
+         * Set a fixed locale that this resolver will return if no supported locale is acceptable
+         * <p>
+         * The first key of {@code tagNames} will be returned if this is absent
+         */
+        private Locale defaultLocale;
+
+        /**
+         * Set a fixed time zone that this resolver will return
+         */
+        private TimeZone defaultTimeZone;
+    }
+
+
+    /**
+     * Properties for path prefix locale resolver
+     *
+     * @author David Hsing
+     * @see com.yookue.springstarter.localechange.resolver.PathLocaleContextResolver
+     * @see com.yookue.springstarter.localechange.filter.PathLocaleRequestFilter
+     */
+    @Getter
+    @Setter
+    @ToString
+    public static class PathLocaleResolver implements Serializable {
+        /**
+         * The priority order of the filter that strips the locale prefixes
+         * <p>
+         * Default is right after the request context filter
+         */
+        private Integer filterOrder;
+
+        /**
+         * Set a fixed locale that this resolver will return if no locale prefix is found
+         * <p>
+         * The first key of {@code tagNames} will be returned if this is absent
+         */
+        private Locale defaultLocale;
+
+        /**
+         * Set a fixed time zone that this resolver will return
+         */
+        private TimeZone defaultTimeZone;
+    }
+
+
+    /**
+     * Properties for host locale resolver
+     *
+     * @author David Hsing
+     * @see com.yookue.springstarter.localechange.resolver.HostLocaleContextResolver
+     * @see com.yookue.springstarter.localechange.support.LocaleHostMatcher
+     */
+    @Getter
+    @Setter
+    @ToString
+    public static class HostLocaleResolver implements Serializable {
+        /**
+         * The host rule and language tag mappings, in priority order
+         * <p>
+         * A rule is an exact host ({@code de.example.com}), a wildcard subdomain ({@code *.example.fr}), or a wildcard domain ({@code de.*}).
+         * Use the bracket notation for the keys, such as {@code [de.example.com]}
+         */
+        private Map<String, String> hostLocales = new LinkedHashMap<>();
+
+        /**
+         * Set a fixed locale that this resolver will return if no host rule matches
+         * <p>
+         * The first key of {@code tagNames} will be returned if this is absent
+         */
+        private Locale defaultLocale;
+
+        /**
+         * Set a fixed time zone that this resolver will return
+         */
+        private TimeZone defaultTimeZone;
+    }
+
+
+    /**
+     * Properties for locale variant http headers
+     *
+     * @author David Hsing
+     * @see com.yookue.springstarter.localechange.filter.LocaleVariantHeaderFilter
+     */
+    @Getter
+    @Setter
+    @ToString
+    public static class VariantHeaders implements Serializable {
+        /**
+         * Indicates whether to enable the locale variant headers or not
+         * <p>
+         * Default is {@code false}, since the headers apply to all the responses of {@code filterPaths}
+         */
+        private Boolean enabled = false;
+
+        /**
+         * Indicates whether to add the {@code Vary} header by the locale resolver type or not
+         * <p>
+         * Default is {@code true}
+         */
+        private Boolean varyHeader = true;
+
+        /**
+         * Indicates whether to add the {@code Content-Language} header or not
+         * <p>
+         * Default is {@code true}
+         */
+        private Boolean contentLanguage = true;
+
+        /**
+         * Indicates whether to add the locale qualified {@code ETag} header and handle the conditional requests or not
+         * <p>
+         * Default is {@code false}, since the response bodies have to be buffered
+         */
+        private Boolean localeEtag = false;
+
+        /**
+         * Indicates whether to write the weak {@code ETag} or not
+         * <p>
+         * Default is {@code false}
+         */
+        private Boolean weakEtag = false;
+
+        /**
+         * The priority order of the filter
+         */
+        private Integer filterOrder;
+
+        /**
+         * The url patterns of the filter
+         */
+        private Set<String> filterPaths;
+    }
+
+
+    /**
+     * Properties for per-locale page cache
+     *
+     * @author David Hsing
+     * @see com.yookue.springstarter.localechange.filter.LocalePageCacheFilter
+     */
+    @Getter
+    @Setter
+    @ToString
+    public static class PageCache implements Serializable {
+        /**
+         * Indicates whether to cache the rendered pages of anonymous requests per locale or not
+         * <p>
+         * Default is {@code false}
+         */
+        private Boolean enabled = false;
+
+        /**
+         * The path patterns to be cached
+         */
+        private List<String> cachePaths;
+
+        /**
+         * The path patterns to be excluded
+         */
+        private List<String> excludePaths;
+
+        /**
+         * The max count of the cached pages
+         * <p>
+         * Default is {@code 256}
+         */
+        private Integer maxEntries = 256;
+
+        /**
+         * The time to live of the cached pages
+         * <p>
+         * Default is {@code 5m}
+         */
+        private Duration timeToLive = Duration.ofMinutes(5L);
+
+        /**
+         * The max size of a page body to be cached
+         * <p>
+         * Default is {@code 512KB}
+         */
+        private DataSize maxBodySize = DataSize.ofKilobytes(512L);
+
+        /**
+         * The priority order of the filter
+         * <p>
+         * Default is right after the security filter chain
+         */
+        private Integer filterOrder;
+    }
+
+
+    /**
+     * Properties for message source warm-up
+     *
+     * @author David Hsing
+     * @see com.yookue.springstarter.localechange.support.MessageSourceWarmUpRunner
+     */
+    @Getter
+    @Setter
+    @ToString
+    public static class WarmUp implements Serializable {
+        /**
+         * Indicates whether to warm up the message source for the locales of {@code tagNames} at startup or not
+         * <p>
+         * Default is {@code false}
+         */
+        private Boolean enabled = false;
+
+        /**
+         * The message keys to be resolved for every locale
+         */
+        private List<String> messageKeys;
+
+        /**
+         * The max count of the locales to be warmed up concurrently
+         * <p>
+         * Default is the count of available processors
+         */
+        private Integer parallelism;
+
+        /**
+         * The max duration to wait for the warm-up
+         * <p>
+         * Default is {@code 30s}
+         */
+        private Duration timeout = Duration.ofSeconds(30L);
+    }
+
+
+    /**
+     * Properties for propagating locale contexts to async processing
+     *
+     * @author David Hsing
+     * @see com.yookue.springstarter.localechange.interceptor.LocaleContextCallableInterceptor
+     * @see com.yookue.springstarter.localechange.support.LocaleContextTaskDecorator
+     */
+    @Getter
+    @Setter
+    @ToString
+    public static class AsyncPropagation implements Serializable {
+        /**
+         * Indicates whether to propagate the resolved locale context to the threads of async request processing or not
+         * <p>
+         * Default is {@code true}
+         */
+        private Boolean enabled = true;
+
+        /**
+         * The type of the task decorator for the auto-configured executors and schedulers, which applies to the whole application
+         * <p>
+         * Default is absent, which registers no task decorator
+         */
+        private TaskDecoratorType taskDecorator;
+
+        /**
+         * Indicates whether to register the thread local accessor of the locale context to the global {@code ContextRegistry} or not
+         * <p>
+         * Default is {@code false}
+         */
+        private Boolean contextRegistry = false;
+    }
 }
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2022 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.springstarter.localechange.resolver;
+
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.TimeZone;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.i18n.LocaleContext;
+import org.springframework.context.i18n.SimpleTimeZoneAwareLocaleContext;
+import org.springframework.context.i18n.TimeZoneAwareLocaleContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.i18n.AbstractLocaleContextResolver;
+import com.yookue.springstarter.localechange.enumeration.LocaleResolutionSource;
+import com.yookue.springstarter.localechange.support.AcceptLanguageNegotiator;
+import com.yookue.springstarter.localechange.support.BoundedConcurrentCache;
+import com.yookue.springstarter.localechange.support.LocaleResolutionRecorder;
+import lombok.Getter;
+
+
+/**
+ * {@link org.springframework.web.servlet.LocaleContextResolver} for negotiating locale from the {@code Accept-Language} header against the supported locales
+ * <p>
+ * The negotiated locale context is memorized as a request attribute.
+ * The header is read only, so a locale that changed by interceptors takes effect for the current request only
+ *
+ * @author David Hsing
+ * @see org.springframework.web.servlet.i18n.AcceptHeaderLocaleResolver
+ * @see com.yookue.springstarter.localechange.support.AcceptLanguageNegotiator
+ */
+@Getter
+@SuppressWarnings("unused")
+public class AcceptHeaderLocaleContextResolver extends AbstractLocaleContextResolver {
+    public static final int DEFAULT_CACHE_SIZE = AcceptLanguageNegotiator.DEFAULT_CACHE_SIZE;
+    public static final String LOCALE_CONTEXT_ATTRIBUTE = AcceptHeaderLocaleContextResolver.class.getName() + ".LOCALE_CONTEXT";    // $NON-NLS-1$
+    private volatile AcceptLanguageNegotiator negotiator;
+    private LocaleResolutionRecorder recorder = LocaleResolutionRecorder.NONE;
+
+    public AcceptHeaderLocaleContextResolver(@Nonnull Collection<Locale> supportedLocales) {
+        this(supportedLocales, DEFAULT_CACHE_SIZE);
+    }
+
+    public AcceptHeaderLocaleContextResolver(@Nonnull Collection<Locale> supportedLocales, int cacheSize) {
+        this.negotiator = new AcceptLanguageNegotiator(supportedLocales, cacheSize);
+    }
+
+    /**
+     * Replaces the supported locales, and discards the negotiated results
+     */
+    public void setSupportedLocales(@Nonnull Collection<Locale> supportedLocales) {
+        BoundedConcurrentCache<String, Locale> cache = negotiator.getNegotiationCache();
+        negotiator = new AcceptLanguageNegotiator(supportedLocales, cache);
+        cache.clear();
+    }
+
+    @Nonnull
+    @Override
+    public Locale resolveLocale(@Nonnull HttpServletRequest request) {
+        Locale locale = resolveLocaleContext(request).getLocale();
+        return locale != null ? locale : request.getLocale();
+    }
+
+    @Nonnull
+    @Override
+    public LocaleContext resolveLocaleContext(@Nonnull HttpServletRequest request) {
+        if (request.getAttribute(LOCALE_CONTEXT_ATTRIBUTE) instanceof LocaleContext context) {
+            return context;
+        }
+        LocaleContext result = new SimpleTimeZoneAwareLocaleContext(negotiateLocale(request), getDefaultTimeZone());
+        request.setAttribute(LOCALE_CONTEXT_ATTRIBUTE, result);
+        return result;
+    }
+
+    @Override
+    public void setLocaleContext(@Nonnull HttpServletRequest request, @Nullable HttpServletResponse response, @Nullable LocaleContext context) {
+        if (context == null || context.getLocale() == null) {
+            request.removeAttribute(LOCALE_CONTEXT_ATTRIBUTE);
+            return;
+        }
+        TimeZone timeZone = (context instanceof TimeZoneAwareLocaleContext aware) ? aware.getTimeZone() : getDefaultTimeZone();
+        request.setAttribute(LOCALE_CONTEXT_ATTRIBUTE, new SimpleTimeZoneAwareLocaleContext(context.getLocale(), timeZone));
+    }
+
+    /**
+     * Sets the recorder of resolutions, and registers the negotiation cache to it
+     */
+    public void setRecorder(@Nullable LocaleResolutionRecorder recorder) {
+        this.recorder = (recorder == null) ? LocaleResolutionRecorder.NONE : recorder;
+        this.recorder.registerCache("accept-language", negotiator.getNegotiationCache());    // $NON-NLS-1$
+    }
+
+    @Nonnull
+    private Locale negotiateLocale(@Nonnull HttpServletRequest request) {
+        AcceptLanguageNegotiator negotiator = this.negotiator;
+        Locale locale = negotiator.negotiate(request.getHeader(HttpHeaders.ACCEPT_LANGUAGE));
+        if (locale != null) {
+            recorder.recordResolution(LocaleResolutionSource.HEADER, locale);
+            return locale;
+        }
+        Locale defaultLocale = getDefaultLocale();
+        if (defaultLocale == null) {
+            defaultLocale = negotiator.getSupportedLocales().isEmpty() ? request.getLocale() : negotiator.getSupportedLocales().iterator().next();
+        }
+        recorder.recordResolution(LocaleResolutionSource.DEFAULT, defaultLocale);
+        return defaultLocale;
+    }
+}
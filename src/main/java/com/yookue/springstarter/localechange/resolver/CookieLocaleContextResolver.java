@@ -17,22 +17,44 @@
 package com.yookue.springstarter.localechange.resolver;
 
 
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
 import java.util.Locale;
+import java.util.TimeZone;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
+import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
-import org.apache.commons.lang3.StringUtils;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.context.i18n.LocaleContext;
-import org.springframework.context.i18n.SimpleLocaleContext;
+import org.springframework.context.i18n.SimpleTimeZoneAwareLocaleContext;
+import org.springframework.context.i18n.TimeZoneAwareLocaleContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
 import org.springframework.web.servlet.i18n.CookieLocaleResolver;
+import org.springframework.web.util.WebUtils;
 import com.yookue.commonplexus.javaseutil.constant.StringVariantConst;
-import com.yookue.commonplexus.springutil.util.WebUtilsWraps;
+import com.yookue.springstarter.localechange.enumeration.LocaleResolutionSource;
+import com.yookue.springstarter.localechange.support.BoundedConcurrentCache;
+import com.yookue.springstarter.localechange.support.CanonicalLocaleParser;
+import com.yookue.springstarter.localechange.support.LocaleChangeSnapshotHolder;
+import com.yookue.springstarter.localechange.support.LocaleResolutionRecorder;
+import com.yookue.springstarter.localechange.support.LocaleTagRegistry;
+import com.yookue.springstarter.localechange.support.TimeZoneParser;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
 
 /**
  * {@link org.springframework.web.servlet.LocaleContextResolver} for detecting locale from request parameters and cookies
+ * <p>
+ * The time zone is detected from the request parameter, the cookie (suffixed to the locale), or the request header, so the resolved contexts are always time zone aware.
+ * With locale negotiation, the resolved locales are folded onto the supported locales, so crawlers cannot grow the per-locale caches downstream.
+ * The {@code Set-Cookie} header values are built once per cookie value, and with write avoidance, unchanged cookies are not written again
  *
  * @author David Hsing
  * @see org.springframework.web.servlet.i18n.LocaleChangeInterceptor
@@ -42,26 +64,280 @@ import lombok.Setter;
 @Setter
 @SuppressWarnings("unused")
 public class CookieLocaleContextResolver extends CookieLocaleResolver {
+    public static final int DEFAULT_PARSE_CACHE_SIZE = CanonicalLocaleParser.DEFAULT_CACHE_SIZE;
+    public static final String LOCALE_CONTEXT_ATTRIBUTE = CookieLocaleContextResolver.class.getName() + ".LOCALE_CONTEXT";    // $NON-NLS-1$
+    private static final String COOKIE_VALUE_ATTRIBUTE = CookieLocaleContextResolver.class.getName() + ".COOKIE_VALUE";    // $NON-NLS-1$
+    private static final String DEFAULT_COOKIE_PATH = "/";    // $NON-NLS-1$
+    private static final String DEFAULT_COOKIE_SAME_SITE = "Lax";    // $NON-NLS-1$
+    private static final String EXPIRES_ATTRIBUTE = "; Expires=";    // $NON-NLS-1$
+    private static final DateTimeFormatter EXPIRES_FORMATTER = DateTimeFormatter.RFC_1123_DATE_TIME.withZone(ZoneId.of("GMT"));    // $NON-NLS-1$
     private final String cookieName;
     private String paramName = StringVariantConst.LANG;
 
+    /**
+     * The parser of raw locale values (from request parameters and cookies) to canonical locales
+     */
+    private CanonicalLocaleParser localeParser;
+
+    /**
+     * The parser of raw time zone values (from request parameters, headers and cookies) to time zones
+     */
+    private TimeZoneParser timeZoneParser = new TimeZoneParser();
+
+    /**
+     * The name of the request parameter that specifies the time zone, such as {@code tz}
+     */
+    private String timeZoneParamName;
+
+    /**
+     * The name of the request header that specifies the time zone, such as {@code Time-Zone}
+     */
+    private String timeZoneHeaderName;
+
+    private LocaleResolutionRecorder recorder = LocaleResolutionRecorder.NONE;
+
+    /**
+     * Indicates whether to fold the resolved locales onto the supported locales (the keys of {@code tagNames}) or not
+     */
+    private boolean localeNegotiation;
+
+    /**
+     * Indicates whether to skip writing the cookie if it holds the same value already or not
+     */
+    private boolean writeAvoidance;
+
+    /**
+     * The cookie of the same attributes as the one of {@link org.springframework.web.servlet.i18n.CookieLocaleResolver}, since the latter is private
+     */
+    @Setter(value = AccessLevel.NONE)
+    private ResponseCookie cookieTemplate;
+
+    /**
+     * The cache of cookie values to their {@code Set-Cookie} header values
+     */
+    @Setter(value = AccessLevel.NONE)
+    private final BoundedConcurrentCache<String, CookieHeader> cookieHeaders;
+
+    @Getter(value = AccessLevel.NONE)
+    @Setter(value = AccessLevel.NONE)
+    private volatile ExpiresText expiresText = new ExpiresText(Long.MIN_VALUE, "");
+
+    /**
+     * The holder of the configuration snapshot, which provides the reloadable parameter name if present
+     */
+    private LocaleChangeSnapshotHolder snapshotHolder;
+
     public CookieLocaleContextResolver(@Nonnull String cookieName) {
+        this(cookieName, DEFAULT_PARSE_CACHE_SIZE);
+    }
+
+    public CookieLocaleContextResolver(@Nonnull String cookieName, int parseCacheSize) {
         super(cookieName);
         this.cookieName = cookieName;
+        this.localeParser = new CanonicalLocaleParser(parseCacheSize, this::parseLocaleValue);
+        this.cookieTemplate = ResponseCookie.from(cookieName).path(DEFAULT_COOKIE_PATH).sameSite(DEFAULT_COOKIE_SAME_SITE).build();
+        this.cookieHeaders = new BoundedConcurrentCache<>(parseCacheSize);
     }
 
     @Nonnull
     @Override
     public Locale resolveLocale(@Nonnull HttpServletRequest request) {
-        Locale locale = detectRequestLocale(request);
+        Locale locale = resolveLocaleContext(request).getLocale();
         return locale != null ? locale : super.resolveLocale(request);
     }
 
+    /**
+     * Returns the locale context of the request, which is resolved once and memorized as a request attribute
+     * <p>
+     * Therefore, the filter, the dispatcher servlet and the interceptors share the same resolution of a request
+     */
     @Nonnull
     @Override
     public LocaleContext resolveLocaleContext(@Nonnull HttpServletRequest request) {
+        if (request.getAttribute(LOCALE_CONTEXT_ATTRIBUTE) instanceof LocaleContext context) {
+            return context;
+        }
         Locale locale = detectRequestLocale(request);
-        return locale == null ? super.resolveLocaleContext(request) : new SimpleLocaleContext(locale);
+        if (locale == null) {
+            locale = foldLocale(super.resolveLocaleContext(request).getLocale());
+            boolean header = getDefaultLocale() == null && request.getHeader(HttpHeaders.ACCEPT_LANGUAGE) != null;
+            recorder.recordResolution(header ? LocaleResolutionSource.HEADER : LocaleResolutionSource.DEFAULT, locale);
+        }
+        LocaleContext result = new SimpleTimeZoneAwareLocaleContext(locale, detectTimeZone(request));
+        request.setAttribute(LOCALE_CONTEXT_ATTRIBUTE, result);
+        return result;
+    }
+
+    /**
+     * Sets the locale context as {@link org.springframework.web.servlet.i18n.CookieLocaleResolver} does, and memorizes it for the rest of the request
+     * <p>
+     * With write avoidance, the cookie is not written again if it holds the same value already,
+     * and the resolved time zone is retained if the context is not time zone aware (such as changing the locale only)
+     */
+    @Override
+    public void setLocaleContext(@Nonnull HttpServletRequest request, @Nullable HttpServletResponse response, @Nullable LocaleContext context) {
+        if (!writeAvoidance || context == null || context.getLocale() == null) {
+            super.setLocaleContext(request, response, context);
+            request.removeAttribute(COOKIE_VALUE_ATTRIBUTE);
+            if (context == null || context.getLocale() == null) {
+                request.removeAttribute(LOCALE_CONTEXT_ATTRIBUTE);
+            } else {
+                TimeZone timeZone = (request.getAttribute(TIME_ZONE_REQUEST_ATTRIBUTE_NAME) instanceof TimeZone zone) ? zone : null;
+                request.setAttribute(LOCALE_CONTEXT_ATTRIBUTE, new SimpleTimeZoneAwareLocaleContext(context.getLocale(), timeZone));
+            }
+            return;
+        }
+        TimeZone defaultTimeZone = determineDefaultTimeZone(request);
+        TimeZone timeZone = (context instanceof TimeZoneAwareLocaleContext aware) ? aware.getTimeZone() : getResolvedTimeZone(request);
+        boolean retained = timeZone != null && !timeZone.equals(defaultTimeZone);
+        String value = retained ? toLocaleValue(context.getLocale()) + '/' + timeZone.getID() : toLocaleValue(context.getLocale());
+        if (response != null && !value.equals(getCurrentCookieValue(request))) {
+            response.addHeader(HttpHeaders.SET_COOKIE, getCookieHeader(value));
+        }
+        request.setAttribute(COOKIE_VALUE_ATTRIBUTE, value);
+        request.setAttribute(LOCALE_REQUEST_ATTRIBUTE_NAME, context.getLocale());
+        request.setAttribute(TIME_ZONE_REQUEST_ATTRIBUTE_NAME, retained ? timeZone : defaultTimeZone);
+        request.setAttribute(LOCALE_CONTEXT_ATTRIBUTE, new SimpleTimeZoneAwareLocaleContext(context.getLocale(), retained ? timeZone : defaultTimeZone));
+    }
+
+    /**
+     * Returns the {@code Set-Cookie} header value of the cookie value, which is built from the cookie attributes once and cached
+     * <p>
+     * Only the {@code Expires} attribute (if any) is rendered per second, since it depends on the current time
+     */
+    @Nonnull
+    public String getCookieHeader(@Nonnull String value) {
+        CookieHeader result = cookieHeaders.get(value, key -> CookieHeader.of(cookieTemplate.mutate().value(key).build()));
+        if (result == null) {
+            return cookieTemplate.mutate().value(value).build().toString();
+        }
+        return (result.suffix() == null) ? result.prefix() : result.prefix() + getExpiresText() + result.suffix();
+    }
+
+    /**
+     * Precomputes the {@code Set-Cookie} header values of the locales, which should be called after all the cookie attributes are set
+     */
+    public void precomputeCookieHeaders(@Nullable Collection<Locale> locales) {
+        cookieHeaders.clear();
+        if (locales != null) {
+            locales.forEach(locale -> getCookieHeader(toLocaleValue(locale)));
+        }
+    }
+
+    @Override
+    public void setCookieMaxAge(@Nullable Duration maxAge) {
+        super.setCookieMaxAge(maxAge);
+        updateCookieTemplate(cookieTemplate.mutate().maxAge((maxAge == null) ? Duration.ofSeconds(-1L) : maxAge));
+    }
+
+    @Override
+    public void setCookiePath(@Nullable String cookiePath) {
+        super.setCookiePath(cookiePath);
+        updateCookieTemplate(cookieTemplate.mutate().path(cookiePath));
+    }
+
+    @Override
+    public void setCookieDomain(@Nullable String cookieDomain) {
+        super.setCookieDomain(cookieDomain);
+        updateCookieTemplate(cookieTemplate.mutate().domain(cookieDomain));
+    }
+
+    @Override
+    public void setCookieSecure(boolean cookieSecure) {
+        super.setCookieSecure(cookieSecure);
+        updateCookieTemplate(cookieTemplate.mutate().secure(cookieSecure));
+    }
+
+    @Override
+    public void setCookieHttpOnly(boolean cookieHttpOnly) {
+        super.setCookieHttpOnly(cookieHttpOnly);
+        updateCookieTemplate(cookieTemplate.mutate().httpOnly(cookieHttpOnly));
+    }
+
+    @Override
+    public void setCookieSameSite(@Nonnull String cookieSameSite) {
+        super.setCookieSameSite(cookieSameSite);
+        updateCookieTemplate(cookieTemplate.mutate().sameSite(cookieSameSite));
+    }
+
+    @Override
+    public void setLanguageTagCompliant(boolean languageTagCompliant) {
+        super.setLanguageTagCompliant(languageTagCompliant);
+        cookieHeaders.clear();
+    }
+
+    /**
+     * Sets whether to fold the resolved locales onto the supported locales, and clears the parsed results
+     */
+    public void setLocaleNegotiation(boolean localeNegotiation) {
+        this.localeNegotiation = localeNegotiation;
+        localeParser.setLocaleFolder(localeNegotiation ? this::negotiateLocale : null);
+    }
+
+    /**
+     * Sets the recorder of resolutions, and registers the parse caches to it
+     */
+    public void setRecorder(@Nullable LocaleResolutionRecorder recorder) {
+        this.recorder = (recorder == null) ? LocaleResolutionRecorder.NONE : recorder;
+        this.recorder.registerCache("locale-parse", localeParser.getParseCache());    // $NON-NLS-1$
+        this.recorder.registerCache("locale-canonical", localeParser.getCanonicalCache());    // $NON-NLS-1$
+        this.recorder.registerCache("time-zone", timeZoneParser.getZoneIdCache());    // $NON-NLS-1$
+        this.recorder.registerCache("locale-fold", localeParser.getFoldCache());    // $NON-NLS-1$
+        this.recorder.registerCache("cookie-header", cookieHeaders);    // $NON-NLS-1$
+    }
+
+    /**
+     * Returns the supported locale that the locale falls back to, or the default locale (or the first supported locale) if none
+     * <p>
+     * The locale is returned as is, if there are no supported locales
+     *
+     * @see com.yookue.springstarter.localechange.support.LocaleTagRegistry#negotiate(Locale)
+     */
+    @Nonnull
+    public Locale negotiateLocale(@Nonnull Locale locale) {
+        LocaleTagRegistry registry = (snapshotHolder == null) ? null : snapshotHolder.get().getTagRegistry();
+        if (registry == null || registry.isEmpty()) {
+            return localeParser.canonicalize(locale);
+        }
+        int id = registry.negotiate(locale);
+        if (id != LocaleTagRegistry.NOT_FOUND) {
+            return registry.getLocale(id);
+        }
+        Locale defaultLocale = getDefaultLocale();
+        if (defaultLocale == null) {
+            return registry.getLocale(0);
+        }
+        int defaultId = registry.idOf(defaultLocale);
+        return (defaultId == LocaleTagRegistry.NOT_FOUND) ? localeParser.canonicalize(defaultLocale) : registry.getLocale(defaultId);
+    }
+
+    @Nullable
+    private Locale foldLocale(@Nullable Locale locale) {
+        Locale result = (locale == null) ? null : localeParser.fold(locale);
+        return (result == null) ? locale : result;
+    }
+
+    /**
+     * Returns the time zone from the request parameter, the cookie or the request header, or the default time zone
+     */
+    @Nullable
+    protected TimeZone detectTimeZone(@Nonnull HttpServletRequest request) {
+        TimeZone result = getTimeZoneFromParam(request);
+        if (result == null) {
+            result = getTimeZoneFromCookie(request);
+        }
+        if (result == null && timeZoneHeaderName != null) {
+            result = timeZoneParser.parseTimeZone(request.getHeader(timeZoneHeaderName));
+        }
+        return (result != null) ? result : determineDefaultTimeZone(request);
+    }
+
+    /**
+     * Returns the time zone of the request parameter, or {@code null} if absent or invalid
+     */
+    @Nullable
+    public TimeZone getTimeZoneFromParam(@Nonnull HttpServletRequest request) {
+        return (timeZoneParamName == null) ? null : timeZoneParser.parseTimeZone(request.getParameter(timeZoneParamName));
     }
 
     @Nullable
@@ -72,19 +348,107 @@ public class CookieLocaleContextResolver extends CookieLocaleResolver {
 
     @Nullable
     private Locale getLocaleFromParam(@Nonnull HttpServletRequest request) {
-        String locale = request.getParameter(paramName);
-        if (StringUtils.isBlank(locale)) {
+        String name = (snapshotHolder != null) ? snapshotHolder.get().getParamName() : paramName;
+        return parseRecordedLocale(request.getParameter(name), LocaleResolutionSource.PARAM);
+    }
+
+    @Nullable
+    private Locale getLocaleFromCookie(@Nonnull HttpServletRequest request) {
+        Cookie cookie = WebUtils.getCookie(request, cookieName);
+        return (cookie == null) ? null : parseRecordedLocale(cookie.getValue(), LocaleResolutionSource.COOKIE);
+    }
+
+    @Nullable
+    private TimeZone getTimeZoneFromCookie(@Nonnull HttpServletRequest request) {
+        Cookie cookie = WebUtils.getCookie(request, cookieName);
+        String value = (cookie == null) ? null : cookie.getValue();
+        int index = (value == null) ? -1 : CanonicalLocaleParser.indexOfTimeZone(value);
+        return (index < 0) ? null : timeZoneParser.parseTimeZone(value.substring(index + 1));
+    }
+
+    /**
+     * Returns the cookie value that is written in the request, or the one of the request cookie
+     */
+    @Nullable
+    private String getCurrentCookieValue(@Nonnull HttpServletRequest request) {
+        if (request.getAttribute(COOKIE_VALUE_ATTRIBUTE) instanceof String value) {
+            return value;
+        }
+        Cookie cookie = WebUtils.getCookie(request, cookieName);
+        return (cookie == null) ? null : cookie.getValue();
+    }
+
+    @Nonnull
+    private String getExpiresText() {
+        long epochSecond = System.currentTimeMillis() / 1000L;
+        ExpiresText current = expiresText;
+        if (current.epochSecond() != epochSecond) {
+            current = new ExpiresText(epochSecond, EXPIRES_FORMATTER.format(Instant.ofEpochSecond(epochSecond).plus(cookieTemplate.getMaxAge())));
+            expiresText = current;
+        }
+        return current.text();
+    }
+
+    private void updateCookieTemplate(@Nonnull ResponseCookie.ResponseCookieBuilder builder) {
+        cookieTemplate = builder.build();
+        cookieHeaders.clear();
+        expiresText = new ExpiresText(Long.MIN_VALUE, "");    // $NON-NLS-1$
+    }
+
+    @Nullable
+    private TimeZone getResolvedTimeZone(@Nonnull HttpServletRequest request) {
+        return (resolveLocaleContext(request) instanceof TimeZoneAwareLocaleContext aware) ? aware.getTimeZone() : null;
+    }
+
+    @Nullable
+    private Locale parseRecordedLocale(@Nullable String value, @Nonnull LocaleResolutionSource source) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        CanonicalLocaleParser.ParsedValue result = localeParser.parseValue(value);
+        if (result == null) {
+            recorder.recordInvalidValue(source, value);
             return null;
         }
-        try {
-            return super.parseLocaleValue(locale);
-        } catch (Exception ignored) {
+        if (result.folded()) {
+            recorder.recordUnsupportedValue(source, value);
         }
-        return null;
+        recorder.recordResolution(source, result.locale());
+        return result.locale();
     }
 
+    /**
+     * Returns the canonical locale of the raw value, invalid values are cached as {@code null}
+     *
+     * @see com.yookue.springstarter.localechange.support.CanonicalLocaleParser
+     */
     @Nullable
-    private Locale getLocaleFromCookie(@Nonnull HttpServletRequest request) {
-        return WebUtilsWraps.getLocaleFromCookie(request, cookieName);
+    public Locale parseRawLocale(@Nullable String value) {
+        return localeParser.parse(value);
+    }
+
+
+    /**
+     * The {@code Set-Cookie} header value of a cookie value, which is split around the date of {@code Expires} if the cookie has a positive max age
+     */
+    public record CookieHeader(@Nonnull String prefix, @Nullable String suffix) {
+        @Nonnull
+        public static CookieHeader of(@Nonnull ResponseCookie cookie) {
+            String header = cookie.toString();
+            int start = header.indexOf(EXPIRES_ATTRIBUTE);
+            if (start < 0 || cookie.getMaxAge().isNegative() || cookie.getMaxAge().isZero()) {
+                return new CookieHeader(header, null);
+            }
+            start += EXPIRES_ATTRIBUTE.length();
+            int end = header.indexOf(';', start);
+            return new CookieHeader(header.substring(0, start), (end < 0) ? "" : header.substring(end));    // $NON-NLS-1$
+        }
+    }
+
+
+    /**
+     * The formatted date of {@code Expires} for the current second
+     */
+    private record ExpiresText(long epochSecond, @Nonnull String text) {
     }
 }
@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2022 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.springstarter.localechange.resolver;
+
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.TimeZone;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.context.i18n.LocaleContext;
+import org.springframework.context.i18n.SimpleTimeZoneAwareLocaleContext;
+import org.springframework.context.i18n.TimeZoneAwareLocaleContext;
+import org.springframework.http.HttpCookie;
+import org.springframework.http.ResponseCookie;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.util.CollectionUtils;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.i18n.LocaleContextResolver;
+import com.yookue.commonplexus.javaseutil.constant.StringVariantConst;
+import com.yookue.springstarter.localechange.support.CanonicalLocaleParser;
+import com.yookue.springstarter.localechange.support.LocaleChangeSnapshotHolder;
+import com.yookue.springstarter.localechange.support.LocaleTagRegistry;
+import com.yookue.springstarter.localechange.support.TimeZoneParser;
+import lombok.Getter;
+import lombok.Setter;
+
+
+/**
+ * {@link org.springframework.web.server.i18n.LocaleContextResolver} for detecting locale from query parameters and cookies
+ * <p>
+ * The reactive counterpart of {@link com.yookue.springstarter.localechange.resolver.CookieLocaleContextResolver}, which never blocks
+ *
+ * @author David Hsing
+ * @see org.springframework.web.server.i18n.AcceptHeaderLocaleContextResolver
+ */
+@Getter
+@Setter
+@SuppressWarnings("unused")
+public class CookieLocaleWebContextResolver implements LocaleContextResolver {
+    public static final String LOCALE_CONTEXT_ATTRIBUTE = CookieLocaleWebContextResolver.class.getName() + ".LOCALE_CONTEXT";    // $NON-NLS-1$
+    private static final String COOKIE_VALUE_ATTRIBUTE = CookieLocaleWebContextResolver.class.getName() + ".COOKIE_VALUE";    // $NON-NLS-1$
+    private final String cookieName;
+    private String paramName = StringVariantConst.LANG;
+    private String cookiePath = "/";    // $NON-NLS-1$
+    private String cookieDomain;
+    private Duration cookieMaxAge = Duration.ofSeconds(-1);
+    private boolean cookieSecure;
+    private boolean cookieHttpOnly;
+    private Locale defaultLocale;
+    private TimeZone defaultTimeZone;
+    private CanonicalLocaleParser localeParser;
+
+    /**
+     * The parser of raw time zone values (from cookies) to time zones
+     */
+    private TimeZoneParser timeZoneParser = new TimeZoneParser();
+
+    /**
+     * Indicates whether to fold the resolved locales onto the supported locales (the keys of {@code tagNames}) or not
+     */
+    private boolean localeNegotiation;
+
+    /**
+     * Indicates whether to skip writing the cookie if it holds the same value already or not
+     */
+    private boolean writeAvoidance;
+
+    /**
+     * The holder of the configuration snapshot, which provides the supported locales for negotiation
+     */
+    private LocaleChangeSnapshotHolder snapshotHolder;
+
+    public CookieLocaleWebContextResolver(@Nonnull String cookieName) {
+        this(cookieName, CanonicalLocaleParser.DEFAULT_CACHE_SIZE);
+    }
+
+    public CookieLocaleWebContextResolver(@Nonnull String cookieName, int parseCacheSize) {
+        this.cookieName = cookieName;
+        this.localeParser = new CanonicalLocaleParser(parseCacheSize);
+    }
+
+    /**
+     * Returns the locale context of the exchange, which is resolved once and memorized as an exchange attribute
+     */
+    @Nonnull
+    @Override
+    public LocaleContext resolveLocaleContext(@Nonnull ServerWebExchange exchange) {
+        if (exchange.getAttribute(LOCALE_CONTEXT_ATTRIBUTE) instanceof LocaleContext context) {
+            return context;
+        }
+        ServerHttpRequest request = exchange.getRequest();
+        Locale locale = localeParser.parse(request.getQueryParams().getFirst(paramName));
+        TimeZone timeZone = null;
+        HttpCookie cookie = request.getCookies().getFirst(cookieName);
+        if (cookie != null) {
+            if (locale == null) {
+                locale = localeParser.parse(cookie.getValue());
+            }
+            timeZone = parseTimeZone(cookie.getValue());
+        }
+        if (locale == null) {
+            locale = (defaultLocale != null) ? defaultLocale : getAcceptLocale(request);
+        }
+        LocaleContext result = new SimpleTimeZoneAwareLocaleContext(locale, (timeZone != null) ? timeZone : defaultTimeZone);
+        exchange.getAttributes().put(LOCALE_CONTEXT_ATTRIBUTE, result);
+        return result;
+    }
+
+    /**
+     * Sets the locale context, and retains the resolved time zone if the context is not time zone aware (such as changing the locale only)
+     * <p>
+     * The cookie value is the same as the one of {@link com.yookue.springstarter.localechange.resolver.CookieLocaleContextResolver} (such as {@code zh-CN/Asia/Shanghai}),
+     * and with write avoidance, the cookie is not written again if it holds the same value already
+     */
+    @Override
+    public void setLocaleContext(@Nonnull ServerWebExchange exchange, @Nullable LocaleContext context) {
+        Locale locale = (context == null) ? null : context.getLocale();
+        if (locale == null) {
+            exchange.getResponse().addCookie(buildCookie(StringUtils.EMPTY, Duration.ZERO));
+            exchange.getAttributes().remove(LOCALE_CONTEXT_ATTRIBUTE);
+            exchange.getAttributes().remove(COOKIE_VALUE_ATTRIBUTE);
+            return;
+        }
+        TimeZone timeZone = (context instanceof TimeZoneAwareLocaleContext aware) ? aware.getTimeZone() : getResolvedTimeZone(exchange);
+        boolean retained = timeZone != null && !timeZone.equals(defaultTimeZone);
+        String value = retained ? locale.toLanguageTag() + '/' + timeZone.getID() : locale.toLanguageTag();
+        if (!(writeAvoidance && value.equals(getCurrentCookieValue(exchange)))) {
+            exchange.getResponse().addCookie(buildCookie(value, cookieMaxAge));
+        }
+        exchange.getAttributes().put(COOKIE_VALUE_ATTRIBUTE, value);
+        exchange.getAttributes().put(LOCALE_CONTEXT_ATTRIBUTE, new SimpleTimeZoneAwareLocaleContext(locale, retained ? timeZone : defaultTimeZone));
+    }
+
+    /**
+     * Sets whether to fold the resolved locales onto the supported locales, and clears the parsed results
+     */
+    public void setLocaleNegotiation(boolean localeNegotiation) {
+        this.localeNegotiation = localeNegotiation;
+        localeParser.setLocaleFolder(localeNegotiation ? this::negotiateLocale : null);
+    }
+
+    /**
+     * Returns the supported locale that the locale falls back to, or the default locale (or the first supported locale) if none
+     * <p>
+     * The locale is returned as is, if there are no supported locales
+     *
+     * @see com.yookue.springstarter.localechange.resolver.CookieLocaleContextResolver#negotiateLocale(Locale)
+     */
+    @Nonnull
+    public Locale negotiateLocale(@Nonnull Locale locale) {
+        LocaleTagRegistry registry = (snapshotHolder == null) ? null : snapshotHolder.get().getTagRegistry();
+        if (registry == null || registry.isEmpty()) {
+            return localeParser.canonicalize(locale);
+        }
+        int id = registry.negotiate(locale);
+        if (id != LocaleTagRegistry.NOT_FOUND) {
+            return registry.getLocale(id);
+        }
+        if (defaultLocale == null) {
+            return registry.getLocale(0);
+        }
+        int defaultId = registry.idOf(defaultLocale);
+        return (defaultId == LocaleTagRegistry.NOT_FOUND) ? localeParser.canonicalize(defaultLocale) : registry.getLocale(defaultId);
+    }
+
+    @Nonnull
+    private ResponseCookie buildCookie(@Nonnull String value, @Nonnull Duration maxAge) {
+        return ResponseCookie.from(cookieName, value)
+            .path(cookiePath)
+            .domain(cookieDomain)
+            .maxAge(maxAge)
+            .secure(cookieSecure)
+            .httpOnly(cookieHttpOnly)
+            .build();
+    }
+
+    @Nullable
+    private Locale getAcceptLocale(@Nonnull ServerHttpRequest request) {
+        try {
+            List<Locale> locales = request.getHeaders().getAcceptLanguageAsLocales();
+            return CollectionUtils.isEmpty(locales) ? null : localeParser.fold(locales.get(0));
+        } catch (IllegalArgumentException ignored) {
+        }
+        return null;
+    }
+
+    /**
+     * Returns the cookie value that is written in the exchange, or the one of the request cookie
+     */
+    @Nullable
+    private String getCurrentCookieValue(@Nonnull ServerWebExchange exchange) {
+        if (exchange.getAttribute(COOKIE_VALUE_ATTRIBUTE) instanceof String value) {
+            return value;
+        }
+        HttpCookie cookie = exchange.getRequest().getCookies().getFirst(cookieName);
+        return (cookie == null) ? null : cookie.getValue();
+    }
+
+    @Nullable
+    private TimeZone getResolvedTimeZone(@Nonnull ServerWebExchange exchange) {
+        return (resolveLocaleContext(exchange) instanceof TimeZoneAwareLocaleContext aware) ? aware.getTimeZone() : null;
+    }
+
+    /**
+     * Returns the time zone of the cookie value, which is separated by a slash (or a space for the legacy values)
+     *
+     * @see com.yookue.springstarter.localechange.support.CanonicalLocaleParser#indexOfTimeZone(String)
+     */
+    @Nullable
+    private TimeZone parseTimeZone(@Nullable String value) {
+        int index = StringUtils.isEmpty(value) ? -1 : CanonicalLocaleParser.indexOfTimeZone(value);
+        return (index < 0) ? null : timeZoneParser.parseTimeZone(value.substring(index + 1));
+    }
+}
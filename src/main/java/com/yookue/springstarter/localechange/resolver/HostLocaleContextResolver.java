@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2022 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.springstarter.localechange.resolver;
+
+
+import java.util.Locale;
+import java.util.TimeZone;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.i18n.LocaleContext;
+import org.springframework.context.i18n.SimpleTimeZoneAwareLocaleContext;
+import org.springframework.context.i18n.TimeZoneAwareLocaleContext;
+import org.springframework.web.servlet.i18n.AbstractLocaleContextResolver;
+import com.yookue.springstarter.localechange.enumeration.LocaleResolutionSource;
+import com.yookue.springstarter.localechange.support.LocaleChangeSnapshot;
+import com.yookue.springstarter.localechange.support.LocaleChangeSnapshotHolder;
+import com.yookue.springstarter.localechange.support.LocaleResolutionRecorder;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+
+
+/**
+ * {@link org.springframework.web.servlet.LocaleContextResolver} for resolving locale from the request host, such as {@code de.example.com} or {@code example.fr}
+ * <p>
+ * The host rules are compiled into the configuration snapshot, and the resolved locale context is memorized as a request attribute.
+ * The host is read only, so a locale that changed by interceptors takes effect for the current request only
+ *
+ * @author David Hsing
+ * @see com.yookue.springstarter.localechange.support.LocaleHostMatcher
+ */
+@RequiredArgsConstructor
+@Getter
+@SuppressWarnings("unused")
+public class HostLocaleContextResolver extends AbstractLocaleContextResolver {
+    public static final String LOCALE_CONTEXT_ATTRIBUTE = HostLocaleContextResolver.class.getName() + ".LOCALE_CONTEXT";    // $NON-NLS-1$
+    private final LocaleChangeSnapshotHolder snapshotHolder;
+
+    @Setter
+    private LocaleResolutionRecorder recorder = LocaleResolutionRecorder.NONE;
+
+    @Nonnull
+    @Override
+    public Locale resolveLocale(@Nonnull HttpServletRequest request) {
+        Locale locale = resolveLocaleContext(request).getLocale();
+        return locale != null ? locale : request.getLocale();
+    }
+
+    @Nonnull
+    @Override
+    public LocaleContext resolveLocaleContext(@Nonnull HttpServletRequest request) {
+        if (request.getAttribute(LOCALE_CONTEXT_ATTRIBUTE) instanceof LocaleContext context) {
+            return context;
+        }
+        LocaleChangeSnapshot snapshot = snapshotHolder.get();
+        Locale locale = snapshot.getHostMatcher().match(request.getServerName());
+        if (locale != null) {
+            recorder.recordResolution(LocaleResolutionSource.HOST, locale);
+        } else {
+            locale = getDefaultLocale();
+            if (locale == null) {
+                locale = snapshot.getTagRegistry().isEmpty() ? request.getLocale() : snapshot.getTagRegistry().getLocale(0);
+            }
+            recorder.recordResolution(LocaleResolutionSource.DEFAULT, locale);
+        }
+        LocaleContext result = new SimpleTimeZoneAwareLocaleContext(locale, getDefaultTimeZone());
+        request.setAttribute(LOCALE_CONTEXT_ATTRIBUTE, result);
+        return result;
+    }
+
+    @Override
+    public void setLocaleContext(@Nonnull HttpServletRequest request, @Nullable HttpServletResponse response, @Nullable LocaleContext context) {
+        if (context == null || context.getLocale() == null) {
+            request.removeAttribute(LOCALE_CONTEXT_ATTRIBUTE);
+            return;
+        }
+        TimeZone timeZone = (context instanceof TimeZoneAwareLocaleContext aware) ? aware.getTimeZone() : getDefaultTimeZone();
+        request.setAttribute(LOCALE_CONTEXT_ATTRIBUTE, new SimpleTimeZoneAwareLocaleContext(context.getLocale(), timeZone));
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2022 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.springstarter.localechange.resolver;
+
+
+import java.util.Locale;
+import java.util.TimeZone;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.i18n.LocaleContext;
+import org.springframework.context.i18n.SimpleTimeZoneAwareLocaleContext;
+import org.springframework.context.i18n.TimeZoneAwareLocaleContext;
+import org.springframework.web.servlet.i18n.AbstractLocaleContextResolver;
+import com.yookue.springstarter.localechange.enumeration.LocaleResolutionSource;
+import com.yookue.springstarter.localechange.support.LocalePathPrefixMatcher;
+import com.yookue.springstarter.localechange.support.LocaleResolutionRecorder;
+import com.yookue.springstarter.localechange.support.LocaleTagRegistry;
+import lombok.Getter;
+import lombok.Setter;
+
+
+/**
+ * {@link org.springframework.web.servlet.LocaleContextResolver} for resolving locale from the prefix of request paths, such as {@code /zh-CN/products}
+ * <p>
+ * The resolved locale context and the matched prefix are memorized as request attributes, and the prefix is stripped by
+ * {@link com.yookue.springstarter.localechange.filter.PathLocaleRequestFilter} before the handler mappings.
+ * The path is read only, so a locale that changed by interceptors takes effect for the current request only
+ *
+ * @author David Hsing
+ * @see com.yookue.springstarter.localechange.support.LocalePathPrefixMatcher
+ */
+@Getter
+@SuppressWarnings("unused")
+public class PathLocaleContextResolver extends AbstractLocaleContextResolver {
+    public static final String LOCALE_CONTEXT_ATTRIBUTE = PathLocaleContextResolver.class.getName() + ".LOCALE_CONTEXT";    // $NON-NLS-1$
+    public static final String PATH_PREFIX_ATTRIBUTE = PathLocaleContextResolver.class.getName() + ".PATH_PREFIX";    // $NON-NLS-1$
+    private volatile LocalePathPrefixMatcher prefixMatcher;
+
+    @Setter
+    private LocaleResolutionRecorder recorder = LocaleResolutionRecorder.NONE;
+
+    public PathLocaleContextResolver(@Nonnull LocaleTagRegistry tagRegistry) {
+        this.prefixMatcher = new LocalePathPrefixMatcher(tagRegistry);
+    }
+
+    /**
+     * Replaces the supported locales, by compiling a new prefix matcher
+     */
+    public void setTagRegistry(@Nonnull LocaleTagRegistry tagRegistry) {
+        prefixMatcher = new LocalePathPrefixMatcher(tagRegistry);
+    }
+
+    @Nonnull
+    @Override
+    public Locale resolveLocale(@Nonnull HttpServletRequest request) {
+        Locale locale = resolveLocaleContext(request).getLocale();
+        return locale != null ? locale : request.getLocale();
+    }
+
+    @Nonnull
+    @Override
+    public LocaleContext resolveLocaleContext(@Nonnull HttpServletRequest request) {
+        if (request.getAttribute(LOCALE_CONTEXT_ATTRIBUTE) instanceof LocaleContext context) {
+            return context;
+        }
+        LocalePathPrefixMatcher matcher = prefixMatcher;
+        LocalePathPrefixMatcher.Match match = matcher.match(getPathWithinApplication(request));
+        Locale locale;
+        if (match != null) {
+            request.setAttribute(PATH_PREFIX_ATTRIBUTE, match);
+            locale = match.locale();
+            recorder.recordResolution(LocaleResolutionSource.PATH, locale);
+        } else {
+            locale = determineDefaultLocale(request, matcher.getTagRegistry());
+            recorder.recordResolution(LocaleResolutionSource.DEFAULT, locale);
+        }
+        LocaleContext result = new SimpleTimeZoneAwareLocaleContext(locale, getDefaultTimeZone());
+        request.setAttribute(LOCALE_CONTEXT_ATTRIBUTE, result);
+        return result;
+    }
+
+    @Override
+    public void setLocaleContext(@Nonnull HttpServletRequest request, @Nullable HttpServletResponse response, @Nullable LocaleContext context) {
+        if (context == null || context.getLocale() == null) {
+            request.removeAttribute(LOCALE_CONTEXT_ATTRIBUTE);
+            return;
+        }
+        TimeZone timeZone = (context instanceof TimeZoneAwareLocaleContext aware) ? aware.getTimeZone() : getDefaultTimeZone();
+        request.setAttribute(LOCALE_CONTEXT_ATTRIBUTE, new SimpleTimeZoneAwareLocaleContext(context.getLocale(), timeZone));
+    }
+
+    /**
+     * Returns the matched prefix of the request, which is available after resolving
+     */
+    @Nullable
+    public static LocalePathPrefixMatcher.Match getPathPrefix(@Nonnull HttpServletRequest request) {
+        return (request.getAttribute(PATH_PREFIX_ATTRIBUTE) instanceof LocalePathPrefixMatcher.Match match) ? match : null;
+    }
+
+    @Nonnull
+    private Locale determineDefaultLocale(@Nonnull HttpServletRequest request, @Nonnull LocaleTagRegistry tagRegistry) {
+        Locale defaultLocale = getDefaultLocale();
+        if (defaultLocale != null) {
+            return defaultLocale;
+        }
+        return tagRegistry.isEmpty() ? request.getLocale() : tagRegistry.getLocale(0);
+    }
+
+    @Nonnull
+    private static String getPathWithinApplication(@Nonnull HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        String contextPath = request.getContextPath();
+        return (contextPath == null || contextPath.isEmpty() || !uri.startsWith(contextPath)) ? uri : uri.substring(contextPath.length());
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2022 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.springstarter.localechange.resolver;
+
+
+import java.util.Locale;
+import java.util.Objects;
+import java.util.TimeZone;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.context.i18n.LocaleContext;
+import org.springframework.context.i18n.SimpleTimeZoneAwareLocaleContext;
+import org.springframework.context.i18n.TimeZoneAwareLocaleContext;
+import org.springframework.web.servlet.i18n.AbstractLocaleContextResolver;
+import com.yookue.commonplexus.springutil.constant.SpringAttributeConst;
+import com.yookue.springstarter.localechange.support.CanonicalLocaleParser;
+import com.yookue.springstarter.localechange.support.TimeZoneParser;
+import lombok.Getter;
+import lombok.Setter;
+
+
+/**
+ * {@link org.springframework.web.servlet.LocaleContextResolver} for storing locale in sessions, which avoids needless session writes
+ * <p>
+ * The locale and time zone are stored as one compact string attribute, such as {@code zh-CN Asia/Shanghai}, rather than serialized objects.
+ * A session is never created just to store the locale that would be resolved without it, and unchanged values are not written again,
+ * which matters when the sessions are kept in a shared store
+ *
+ * @author David Hsing
+ * @see org.springframework.web.servlet.i18n.SessionLocaleResolver
+ */
+@Getter
+@Setter
+@SuppressWarnings("unused")
+public class SessionLocaleContextResolver extends AbstractLocaleContextResolver {
+    private String localeAttributeName = SpringAttributeConst.LOCALE_RESOLVER_LOCALE;
+
+    /**
+     * The attribute name of the legacy time zone values, which is removed once the compact value is written
+     */
+    private String timeZoneAttributeName = SpringAttributeConst.LOCALE_RESOLVER_TIMEZONE;
+
+    private CanonicalLocaleParser localeParser = new CanonicalLocaleParser();
+    private TimeZoneParser timeZoneParser = new TimeZoneParser();
+
+    @Nonnull
+    @Override
+    public Locale resolveLocale(@Nonnull HttpServletRequest request) {
+        Locale locale = resolveLocaleContext(request).getLocale();
+        return locale != null ? locale : determineDefaultLocale(request);
+    }
+
+    @Nonnull
+    @Override
+    public LocaleContext resolveLocaleContext(@Nonnull HttpServletRequest request) {
+        HttpSession session = request.getSession(false);
+        Object value = (session == null) ? null : session.getAttribute(localeAttributeName);
+        Locale locale = null;
+        TimeZone timeZone = null;
+        if (value instanceof String text) {
+            locale = localeParser.parse(text);
+            int index = CanonicalLocaleParser.indexOfTimeZone(text);
+            timeZone = (index < 0) ? null : timeZoneParser.parseTimeZone(text.substring(index + 1));
+        } else if (value instanceof Locale legacy) {
+            locale = legacy;
+            timeZone = (session.getAttribute(timeZoneAttributeName) instanceof TimeZone zone) ? zone : null;
+        }
+        return new SimpleTimeZoneAwareLocaleContext(locale != null ? locale : determineDefaultLocale(request), timeZone != null ? timeZone : getDefaultTimeZone());
+    }
+
+    @Override
+    public void setLocaleContext(@Nonnull HttpServletRequest request, @Nullable HttpServletResponse response, @Nullable LocaleContext context) {
+        Locale locale = (context == null) ? null : context.getLocale();
+        TimeZone timeZone = (context instanceof TimeZoneAwareLocaleContext aware) ? aware.getTimeZone() : null;
+        HttpSession session = request.getSession(false);
+        if (session == null && (locale == null || isDefaultContext(request, locale, timeZone))) {
+            return;
+        }
+        String value = (locale == null) ? null : formatValue(locale, timeZone);
+        if (session == null) {
+            session = request.getSession(true);
+        }
+        Object existing = session.getAttribute(localeAttributeName);
+        if (value == null) {
+            if (existing != null) {
+                session.removeAttribute(localeAttributeName);
+            }
+        } else if (!Objects.equals(existing, value)) {
+            session.setAttribute(localeAttributeName, value);
+        }
+        if (StringUtils.isNotBlank(timeZoneAttributeName) && session.getAttribute(timeZoneAttributeName) != null) {
+            session.removeAttribute(timeZoneAttributeName);
+        }
+    }
+
+    @Nonnull
+    protected Locale determineDefaultLocale(@Nonnull HttpServletRequest request) {
+        Locale defaultLocale = getDefaultLocale();
+        return defaultLocale != null ? defaultLocale : request.getLocale();
+    }
+
+    private boolean isDefaultContext(@Nonnull HttpServletRequest request, @Nonnull Locale locale, @Nullable TimeZone timeZone) {
+        return locale.equals(determineDefaultLocale(request)) && (timeZone == null || timeZone.equals(getDefaultTimeZone()));
+    }
+
+    @Nonnull
+    private String formatValue(@Nonnull Locale locale, @Nullable TimeZone timeZone) {
+        String tag = locale.toLanguageTag();
+        return (timeZone == null) ? tag : tag + ' ' + timeZone.getID();
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2022 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.springstarter.localechange.support;
+
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.apache.commons.lang3.StringUtils;
+import lombok.Getter;
+
+
+/**
+ * Negotiator that matches {@code Accept-Language} header values against the supported locales
+ * <p>
+ * Language ranges are tried in descending order of their q-values, and each range is truncated subtag by subtag (the "lookup" scheme of RFC 4647).
+ * If no range matches, the first supported locale that has the same language of a range is chosen.
+ * The negotiated results are memorized by the raw header values, since real traffic has only a few thousand distinct header values
+ *
+ * @author David Hsing
+ * @see java.util.Locale#lookup
+ * @see "https://www.rfc-editor.org/rfc/rfc4647#section-3.4"
+ */
+@Getter
+@SuppressWarnings("unused")
+public class AcceptLanguageNegotiator {
+    public static final int DEFAULT_CACHE_SIZE = 4096;
+    private static final int MAX_RANGES = 16;
+    private final Set<Locale> supportedLocales;
+    private final Map<String, Locale> tagLocales = new HashMap<>();
+    private final Map<String, Locale> languageLocales = new HashMap<>();
+    private final BoundedConcurrentCache<String, Locale> negotiationCache;
+
+    public AcceptLanguageNegotiator(@Nonnull Collection<Locale> supportedLocales) {
+        this(supportedLocales, DEFAULT_CACHE_SIZE);
+    }
+
+    public AcceptLanguageNegotiator(@Nonnull Collection<Locale> supportedLocales, int cacheSize) {
+        this(supportedLocales, new BoundedConcurrentCache<>(cacheSize));
+    }
+
+    /**
+     * Creates a negotiator that memorizes the results into the cache, which should be cleared if it has been used by another negotiator
+     */
+    public AcceptLanguageNegotiator(@Nonnull Collection<Locale> supportedLocales, @Nonnull BoundedConcurrentCache<String, Locale> negotiationCache) {
+        this.supportedLocales = new LinkedHashSet<>(supportedLocales);
+        this.negotiationCache = negotiationCache;
+        for (Locale locale : this.supportedLocales) {
+            tagLocales.putIfAbsent(StringUtils.lowerCase(locale.toLanguageTag(), Locale.ROOT), locale);
+            languageLocales.putIfAbsent(locale.getLanguage(), locale);
+        }
+    }
+
+    /**
+     * Returns the best supported locale for the header value, or {@code null} if none is acceptable
+     */
+    @Nullable
+    public Locale negotiate(@Nullable String header) {
+        return (StringUtils.isBlank(header) || supportedLocales.isEmpty()) ? null : negotiationCache.get(header, this::doNegotiate);
+    }
+
+    @Nullable
+    private Locale doNegotiate(@Nonnull String header) {
+        String[] ranges = new String[MAX_RANGES];
+        int[] weights = new int[MAX_RANGES];
+        int count = parseRanges(header, ranges, weights);
+        for (int i = 0; i < count; i++) {
+            Locale locale = lookupTag(ranges[i]);
+            if (locale != null) {
+                return locale;
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            int dash = ranges[i].indexOf('-');
+            Locale locale = languageLocales.get((dash < 0) ? ranges[i] : ranges[i].substring(0, dash));
+            if (locale != null) {
+                return locale;
+            }
+        }
+        return null;
+    }
+
+    @Nullable
+    private Locale lookupTag(@Nonnull String range) {
+        String candidate = range;
+        while (!candidate.isEmpty()) {
+            Locale locale = tagLocales.get(candidate);
+            if (locale != null) {
+                return locale;
+            }
+            int dash = candidate.lastIndexOf('-');
+            if (dash < 0) {
+                break;
+            }
+            // Drop the single-letter subtag that precedes the removed one too, such as 'x' of 'x-private'
+            candidate = (dash >= 2 && candidate.charAt(dash - 2) == '-') ? candidate.substring(0, dash - 2) : candidate.substring(0, dash);
+        }
+        return null;
+    }
+
+    /**
+     * Parses the header into lowercase ranges that sorted by descending q-values (in thousandths), ignoring wildcards and zero weights
+     *
+     * @return the count of the parsed ranges
+     */
+    private static int parseRanges(@Nonnull String header, @Nonnull String[] ranges, @Nonnull int[] weights) {
+        int count = 0, length = header.length(), start = 0;
+        while (start < length && count < ranges.length) {
+            int end = header.indexOf(',', start);
+            if (end < 0) {
+                end = length;
+            }
+            int semicolon = header.indexOf(';', start);
+            int rangeEnd = (semicolon >= 0 && semicolon < end) ? semicolon : end;
+            int weight = (rangeEnd < end) ? parseWeight(header, rangeEnd + 1, end) : 1000;
+            int rangeStart = start;
+            while (rangeStart < rangeEnd && header.charAt(rangeStart) <= ' ') {
+                rangeStart++;
+            }
+            while (rangeEnd > rangeStart && header.charAt(rangeEnd - 1) <= ' ') {
+                rangeEnd--;
+            }
+            if (weight > 0 && rangeEnd > rangeStart && !(rangeEnd - rangeStart == 1 && header.charAt(rangeStart) == '*')) {
+                String range = header.substring(rangeStart, rangeEnd).replace('_', '-').toLowerCase(Locale.ROOT);
+                int index = count++;
+                while (index > 0 && weights[index - 1] < weight) {
+                    ranges[index] = ranges[index - 1];
+                    weights[index] = weights[index - 1];
+                    index--;
+                }
+                ranges[index] = range;
+                weights[index] = weight;
+            }
+            start = end + 1;
+        }
+        return count;
+    }
+
+    /**
+     * Parses the q-value parameter, such as {@code q=0.8}, into thousandths
+     */
+    private static int parseWeight(@Nonnull String header, int start, int end) {
+        int index = start;
+        while (index < end && header.charAt(index) <= ' ') {
+            index++;
+        }
+        if (index + 1 >= end || (header.charAt(index) != 'q' && header.charAt(index) != 'Q') || header.charAt(index + 1) != '=') {
+            return 1000;
+        }
+        index += 2;
+        int result = 0, digits = -1;
+        for (; index < end; index++) {
+            char ch = header.charAt(index);
+            if (ch == '.' && digits < 0) {
+                digits = 0;
+            } else if (ch >= '0' && ch <= '9') {
+                if (digits < 0) {
+                    result = result * 10 + (ch - '0');
+                } else if (digits < 3) {
+                    result = result * 10 + (ch - '0');
+                    digits++;
+                }
+            } else if (ch > ' ') {
+                return 0;
+            }
+        }
+        for (int i = Math.max(digits, 0); i < 3; i++) {
+            result *= 10;
+        }
+        return Math.min(result, 1000);
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2022 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.springstarter.localechange.support;
+
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.springframework.util.Assert;
+
+
+/**
+ * Size bounded and thread safe cache, which caches {@code null} results too
+ * <p>
+ * When the cache is full, a batch of entries is evicted by the clock (second chance) policy: each entry has an access bit that is set by hits,
+ * and a hand that persists across evictions sweeps the entries, clearing the set bits and evicting the entries whose bits are clear.
+ * Therefore, the frequently hit entries survive a flood of one-off keys, and random keys cannot grow the cache without limit
+ *
+ * @param <K> the type of keys
+ * @param <V> the type of values
+ *
+ * @author David Hsing
+ */
+@SuppressWarnings("unused")
+public class BoundedConcurrentCache<K, V> {
+    private static final Object NULL_VALUE = new Object();
+    private final ConcurrentHashMap<K, Node> entries;
+    private final int maximumSize;
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private Iterator<Map.Entry<K, Node>> clockHand;
+
+    public BoundedConcurrentCache(int maximumSize) {
+        Assert.isTrue(maximumSize > 0, "Maximum size must be positive");
+        this.maximumSize = maximumSize;
+        this.entries = new ConcurrentHashMap<>(Math.min(maximumSize, 1024));
+    }
+
+    @Nullable
+    public V get(@Nonnull K key, @Nonnull Function<? super K, ? extends V> loader) {
+        Node node = entries.get(key);
+        if (node != null) {
+            hitCount.increment();
+            return unwrap(node.access());
+        }
+        missCount.increment();
+        V loaded = loader.apply(key);
+        if (entries.size() >= maximumSize) {
+            evict();
+        }
+        Node previous = entries.putIfAbsent(key, new Node((loaded == null) ? NULL_VALUE : loaded));
+        return (previous == null) ? loaded : unwrap(previous.access());
+    }
+
+    @Nullable
+    public V getIfPresent(@Nonnull K key) {
+        Node node = entries.get(key);
+        return (node == null) ? null : unwrap(node.access());
+    }
+
+    public void put(@Nonnull K key, @Nullable V value) {
+        if (!entries.containsKey(key) && entries.size() >= maximumSize) {
+            evict();
+        }
+        entries.put(key, new Node((value == null) ? NULL_VALUE : value));
+    }
+
+    public void invalidate(@Nonnull K key) {
+        entries.remove(key);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    /**
+     * Evicts a batch of entries, the sweep is bounded by two rounds, since a round clears all the access bits that it passes
+     */
+    private void evict() {
+        evictionLock.lock();
+        try {
+            int batch = Math.max(1, maximumSize >>> 4);
+            long steps = 2L * entries.size() + batch;
+            while (batch > 0 && steps-- > 0L) {
+                if (clockHand == null || !clockHand.hasNext()) {
+                    clockHand = entries.entrySet().iterator();
+                    if (!clockHand.hasNext()) {
+                        return;
+                    }
+                }
+                Map.Entry<K, Node> entry = clockHand.next();
+                Node node = entry.getValue();
+                if (node.referenced) {
+                    node.referenced = false;
+                } else if (entries.remove(entry.getKey(), node)) {
+                    evictionCount.increment();
+                    batch--;
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    @Nullable
+    @SuppressWarnings("unchecked")
+    private V unwrap(@Nonnull Object value) {
+        return (value == NULL_VALUE) ? null : (V) value;
+    }
+
+
+    /**
+     * Value of an entry and its access bit, the bit is written only when it is clear, so the hits of hot entries do not contend on it
+     */
+    private static final class Node {
+        private final Object value;
+        private volatile boolean referenced;
+
+        Node(@Nonnull Object value) {
+            this.value = value;
+        }
+
+        @Nonnull
+        Object access() {
+            if (!referenced) {
+                referenced = true;
+            }
+            return value;
+        }
+    }
+}
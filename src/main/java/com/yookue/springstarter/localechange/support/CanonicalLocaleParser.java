@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2022 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.springstarter.localechange.support;
+
+
+import java.util.Locale;
+import java.util.function.Function;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.apache.commons.lang3.StringUtils;
+import lombok.Getter;
+
+
+/**
+ * Parser that maps raw locale values (from request parameters and cookies) to canonical locales
+ * <p>
+ * The raw value may be suffixed with a time zone (such as {@code zh-CN/Asia/Shanghai}), just like what {@link org.springframework.web.servlet.i18n.CookieLocaleResolver} writes,
+ * and invalid values are cached as {@code null}.
+ * With a locale folder, the parsed locales are folded onto a bounded set (such as the supported locales), so only the folded instances reach the downstream caches
+ *
+ * @author David Hsing
+ */
+@Getter
+@SuppressWarnings("unused")
+public class CanonicalLocaleParser {
+    public static final int DEFAULT_CACHE_SIZE = 512;
+
+    /**
+     * The cache of raw locale values to canonical locales
+     */
+    private final BoundedConcurrentCache<String, ParsedValue> parseCache;
+
+    /**
+     * The cache of parsed locales to their canonical instances
+     */
+    private final BoundedConcurrentCache<Locale, Locale> canonicalCache;
+
+    /**
+     * The cache of parsed locales to their folded instances
+     */
+    private final BoundedConcurrentCache<Locale, Locale> foldCache;
+
+    private final Function<String, Locale> parser;
+
+    /**
+     * The function that folds the parsed locales, returns {@code null} for the ones to be rejected
+     */
+    private volatile Function<Locale, Locale> localeFolder;
+
+    public CanonicalLocaleParser() {
+        this(DEFAULT_CACHE_SIZE);
+    }
+
+    public CanonicalLocaleParser(int cacheSize) {
+        this(cacheSize, org.springframework.util.StringUtils::parseLocale);
+    }
+
+    public CanonicalLocaleParser(int cacheSize, @Nonnull Function<String, Locale> parser) {
+        this.parseCache = new BoundedConcurrentCache<>(cacheSize);
+        this.canonicalCache = new BoundedConcurrentCache<>(cacheSize);
+        this.foldCache = new BoundedConcurrentCache<>(cacheSize);
+        this.parser = parser;
+    }
+
+    @Nullable
+    public Locale parse(@Nullable String value) {
+        ParsedValue result = parseValue(value);
+        return (result == null) ? null : result.locale();
+    }
+
+    /**
+     * Returns the canonical locale of the raw value, and whether it is folded onto another locale
+     */
+    @Nullable
+    public ParsedValue parseValue(@Nullable String value) {
+        return StringUtils.isBlank(value) ? null : parseCache.get(value, this::parseCanonical);
+    }
+
+    @Nonnull
+    public Locale canonicalize(@Nonnull Locale locale) {
+        Locale result = canonicalCache.get(locale, Function.identity());
+        return (result == null) ? locale : result;
+    }
+
+    /**
+     * Returns the folded instance of the locale, or the canonical instance if there is no locale folder
+     */
+    @Nullable
+    public Locale fold(@Nonnull Locale locale) {
+        Function<Locale, Locale> folder = localeFolder;
+        return (folder == null) ? canonicalize(locale) : foldCache.get(locale, folder);
+    }
+
+    /**
+     * Sets the locale folder, and clears the cached results
+     */
+    public void setLocaleFolder(@Nullable Function<Locale, Locale> localeFolder) {
+        this.localeFolder = localeFolder;
+        clear();
+    }
+
+    public void clear() {
+        parseCache.clear();
+        foldCache.clear();
+    }
+
+    @Nullable
+    private ParsedValue parseCanonical(@Nonnull String value) {
+        try {
+            int index = indexOfTimeZone(value);
+            Locale locale = parser.apply((index < 0) ? value : value.substring(0, index));
+            Locale folded = (locale == null) ? null : fold(locale);
+            return (folded == null) ? null : new ParsedValue(folded, !folded.equals(locale));
+        } catch (Exception ignored) {
+        }
+        return null;
+    }
+
+    /**
+     * Returns the index of the separator between the locale and the time zone (a slash, or a space for the legacy values), or {@code -1} if absent
+     * <p>
+     * The first separator wins, since the locale never contains them, while the time zone may contain slashes
+     */
+    public static int indexOfTimeZone(@Nonnull String value) {
+        int slash = value.indexOf('/'), space = value.indexOf(' ');
+        return (slash < 0 || space < 0) ? Math.max(slash, space) : Math.min(slash, space);
+    }
+
+
+    /**
+     * The canonical locale of a raw value, and whether it is folded onto another locale (such as an unsupported one)
+     */
+    public record ParsedValue(@Nonnull Locale locale, boolean folded) {
+    }
+}
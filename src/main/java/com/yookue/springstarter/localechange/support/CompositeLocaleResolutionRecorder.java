@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2022 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.springstarter.localechange.support;
+
+
+import java.util.Collection;
+import java.util.Locale;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import com.yookue.springstarter.localechange.enumeration.LocaleResolutionSource;
+
+
+/**
+ * {@link com.yookue.springstarter.localechange.support.LocaleResolutionRecorder} that records to several recorders in order
+ *
+ * @author David Hsing
+ * @see com.yookue.springstarter.localechange.support.LocaleResolutionRecorder#compose(Collection)
+ */
+@SuppressWarnings("unused")
+public class CompositeLocaleResolutionRecorder implements LocaleResolutionRecorder {
+    private final LocaleResolutionRecorder[] recorders;
+
+    public CompositeLocaleResolutionRecorder(@Nonnull Collection<? extends LocaleResolutionRecorder> recorders) {
+        this.recorders = recorders.toArray(new LocaleResolutionRecorder[0]);
+    }
+
+    @Override
+    public void recordResolution(@Nonnull LocaleResolutionSource source, @Nullable Locale locale) {
+        for (LocaleResolutionRecorder recorder : recorders) {
+            recorder.recordResolution(source, locale);
+        }
+    }
+
+    @Override
+    public void recordInvalidValue(@Nonnull LocaleResolutionSource source) {
+        for (LocaleResolutionRecorder recorder : recorders) {
+            recorder.recordInvalidValue(source);
+        }
+    }
+
+    @Override
+    public void recordInvalidValue(@Nonnull LocaleResolutionSource source, @Nonnull String value) {
+        for (LocaleResolutionRecorder recorder : recorders) {
+            recorder.recordInvalidValue(source, value);
+        }
+    }
+
+    @Override
+    public void recordUnsupportedValue(@Nonnull LocaleResolutionSource source, @Nonnull String value) {
+        for (LocaleResolutionRecorder recorder : recorders) {
+            recorder.recordUnsupportedValue(source, value);
+        }
+    }
+
+    @Override
+    public void recordFilterTime(long nanos) {
+        for (LocaleResolutionRecorder recorder : recorders) {
+            recorder.recordFilterTime(nanos);
+        }
+    }
+
+    @Override
+    public void recordPostHandleTime(long nanos) {
+        for (LocaleResolutionRecorder recorder : recorders) {
+            recorder.recordPostHandleTime(nanos);
+        }
+    }
+
+    @Override
+    public void registerCache(@Nonnull String name, @Nonnull BoundedConcurrentCache<?, ?> cache) {
+        for (LocaleResolutionRecorder recorder : recorders) {
+            recorder.registerCache(name, cache);
+        }
+    }
+}
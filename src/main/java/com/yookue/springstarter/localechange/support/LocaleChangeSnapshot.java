@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2022 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.springstarter.localechange.support;
+
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import jakarta.annotation.Nonnull;
+import org.apache.commons.lang3.BooleanUtils;
+import org.apache.commons.lang3.ObjectUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.util.CollectionUtils;
+import com.yookue.commonplexus.javaseutil.constant.StringVariantConst;
+import com.yookue.springstarter.localechange.enumeration.LocaleResolverType;
+import com.yookue.springstarter.localechange.property.LocaleChangeProperties;
+import lombok.Getter;
+
+
+/**
+ * Immutable snapshot of {@link com.yookue.springstarter.localechange.property.LocaleChangeProperties}, which is read on the request paths
+ * <p>
+ * The collections are copied and the path patterns are compiled, so a snapshot is consistent and thread safe, no matter how the properties are rebound later
+ *
+ * @author David Hsing
+ * @see com.yookue.springstarter.localechange.support.LocaleChangeSnapshotHolder
+ */
+@Getter
+@SuppressWarnings("unused")
+public final class LocaleChangeSnapshot {
+    private final String viewAttribute;
+    private final boolean tagMultilingual;
+    private final Map<String, String> tagNames;
+    private final LocaleTagRegistry tagRegistry;
+    private final PathExclusionMatcher viewInterceptMatcher;
+    private final PathExclusionMatcher viewExcludeMatcher;
+    private final String paramName;
+    private final boolean ignoreInvalidLocale;
+    private final PathExclusionMatcher localeExcludeMatcher;
+    private final PathExclusionMatcher filterExcludeMatcher;
+    private final LocaleResolverType localeResolverType;
+    private final LocaleHostMatcher hostMatcher;
+
+    private LocaleChangeSnapshot(@Nonnull LocaleChangeProperties properties) {
+        LocaleChangeProperties.ModelAndView viewProps = properties.getModelAndView();
+        LocaleChangeProperties.LocaleInterceptor localeProps = properties.getLocaleInterceptor();
+        this.viewAttribute = viewProps.getViewAttribute();
+        this.tagMultilingual = BooleanUtils.isTrue(viewProps.getTagMultilingual());
+        this.tagNames = CollectionUtils.isEmpty(viewProps.getTagNames()) ? Collections.emptyMap() : Collections.unmodifiableMap(new LinkedHashMap<>(viewProps.getTagNames()));
+        this.tagRegistry = new LocaleTagRegistry(tagNames);
+        this.viewInterceptMatcher = PathExclusionMatcher.compile(viewProps.getInterceptPaths());
+        this.viewExcludeMatcher = PathExclusionMatcher.compile(viewProps.getExcludePaths());
+        this.paramName = StringUtils.defaultIfBlank(localeProps.getParamName(), StringVariantConst.LANG);
+        this.ignoreInvalidLocale = BooleanUtils.isTrue(localeProps.getIgnoreInvalidLocale());
+        this.localeExcludeMatcher = PathExclusionMatcher.compile(localeProps.getExcludePaths());
+        this.filterExcludeMatcher = PathExclusionMatcher.compile(properties.getCookieLocaleFilter().getExcludePaths());
+        this.localeResolverType = ObjectUtils.defaultIfNull(properties.getLocaleResolverType(), LocaleResolverType.COOKIE);
+        this.hostMatcher = new LocaleHostMatcher(properties.getHostLocaleResolver().getHostLocales(), tagRegistry);
+    }
+
+    @Nonnull
+    public static LocaleChangeSnapshot of(@Nonnull LocaleChangeProperties properties) {
+        return new LocaleChangeSnapshot(properties);
+    }
+}
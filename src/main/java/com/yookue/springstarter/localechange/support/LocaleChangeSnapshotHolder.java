@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2022 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.springstarter.localechange.support;
+
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import jakarta.annotation.Nonnull;
+import com.yookue.springstarter.localechange.property.LocaleChangeProperties;
+
+
+/**
+ * Holder of the current {@link com.yookue.springstarter.localechange.support.LocaleChangeSnapshot}
+ * <p>
+ * Readers get the snapshot through a single volatile read, and a refresh swaps in a rebuilt snapshot atomically, then notifies the listeners
+ * that keep derived states (such as caches)
+ *
+ * @author David Hsing
+ */
+@SuppressWarnings("unused")
+public class LocaleChangeSnapshotHolder {
+    private final List<Consumer<LocaleChangeSnapshot>> listeners = new CopyOnWriteArrayList<>();
+    private volatile LocaleChangeSnapshot snapshot;
+
+    public LocaleChangeSnapshotHolder(@Nonnull LocaleChangeProperties properties) {
+        this.snapshot = LocaleChangeSnapshot.of(properties);
+    }
+
+    @Nonnull
+    public LocaleChangeSnapshot get() {
+        return snapshot;
+    }
+
+    /**
+     * Rebuilds the snapshot from the properties, and swaps it in
+     */
+    public void refresh(@Nonnull LocaleChangeProperties properties) {
+        LocaleChangeSnapshot result = LocaleChangeSnapshot.of(properties);
+        snapshot = result;
+        for (Consumer<LocaleChangeSnapshot> listener : listeners) {
+            listener.accept(result);
+        }
+    }
+
+    public void addListener(@Nonnull Consumer<LocaleChangeSnapshot> listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(@Nonnull Consumer<LocaleChangeSnapshot> listener) {
+        listeners.remove(listener);
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2022 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.springstarter.localechange.support;
+
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.context.event.GenericApplicationListener;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.env.Environment;
+import com.yookue.springstarter.localechange.config.LocaleChangeViewConfiguration;
+import com.yookue.springstarter.localechange.property.LocaleChangeProperties;
+import lombok.RequiredArgsConstructor;
+
+
+/**
+ * Listener that refreshes {@link com.yookue.springstarter.localechange.support.LocaleChangeSnapshotHolder} when the environment changes
+ * <p>
+ * The properties are bound into a new instance, rather than read from the shared bean that may be rebound in place at the same time.
+ * The event type is detected by name, so Spring Cloud is not required
+ *
+ * @author David Hsing
+ * @see "org.springframework.cloud.context.environment.EnvironmentChangeEvent"
+ */
+@RequiredArgsConstructor
+@SuppressWarnings("unused")
+public class LocaleChangeSnapshotRefresher implements GenericApplicationListener, EnvironmentAware {
+    public static final String ENVIRONMENT_CHANGE_EVENT = "org.springframework.cloud.context.environment.EnvironmentChangeEvent";    // $NON-NLS-1$
+    private final LocaleChangeSnapshotHolder snapshotHolder;
+    private Environment environment;
+
+    @Override
+    public void setEnvironment(@Nonnull Environment environment) {
+        this.environment = environment;
+    }
+
+    @Override
+    public boolean supportsEventType(@Nonnull ResolvableType eventType) {
+        Class<?> clazz = eventType.resolve();
+        return clazz != null && StringUtils.equals(clazz.getName(), ENVIRONMENT_CHANGE_EVENT);
+    }
+
+    @Override
+    public void onApplicationEvent(@Nullable ApplicationEvent event) {
+        refresh();
+    }
+
+    /**
+     * Binds the current environment and swaps in the rebuilt snapshot
+     */
+    public void refresh() {
+        if (environment != null) {
+            snapshotHolder.refresh(Binder.get(environment).bindOrCreate(LocaleChangeViewConfiguration.PROPERTIES_PREFIX, LocaleChangeProperties.class));
+        }
+    }
+}
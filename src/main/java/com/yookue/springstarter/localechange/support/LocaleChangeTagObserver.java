@@ -19,42 +19,114 @@ package com.yookue.springstarter.localechange.support;
 
 import java.util.Collection;
 import java.util.Locale;
+import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 import com.yookue.commonplexus.javaseutil.util.LocalePlainWraps;
 import com.yookue.springstarter.localechange.property.LocaleChangeProperties;
-import lombok.RequiredArgsConstructor;
 
 
-@RequiredArgsConstructor
+/**
+ * Observer of the supported locales for templates, such as {@code #localeChange} of Thymeleaf
+ * <p>
+ * The lookups are backed by {@link com.yookue.springstarter.localechange.support.LocaleTagRegistry}, without allocating language tags
+ *
+ * @author David Hsing
+ */
 @SuppressWarnings("unused")
 public class LocaleChangeTagObserver {
-    private final LocaleChangeProperties properties;
+    private final LocaleTagRegistry registry;
+    private final LocaleChangeSnapshotHolder snapshotHolder;
+
+    public LocaleChangeTagObserver(@Nonnull LocaleChangeProperties properties) {
+        this(new LocaleChangeSnapshotHolder(properties));
+    }
+
+    public LocaleChangeTagObserver(@Nonnull LocaleTagRegistry registry) {
+        this.registry = registry;
+        this.snapshotHolder = null;
+    }
+
+    /**
+     * Creates an observer that follows the registry of the current configuration snapshot
+     */
+    public LocaleChangeTagObserver(@Nonnull LocaleChangeSnapshotHolder snapshotHolder) {
+        this.registry = null;
+        this.snapshotHolder = snapshotHolder;
+    }
+
+    @Nonnull
+    public LocaleTagRegistry getRegistry() {
+        return (snapshotHolder != null) ? snapshotHolder.get().getTagRegistry() : registry;
+    }
 
     public boolean contains(@Nullable String languageTag) {
-        return properties.getModelAndView().getTagNames() != null && properties.getModelAndView().getTagNames().containsKey(languageTag);
+        return getRegistry().contains(languageTag);
     }
 
     public boolean contains(@Nullable Locale locale) {
-        return locale != null && contains(locale.toLanguageTag());
+        return getRegistry().contains(locale);
     }
 
     public boolean equalsAny(@Nullable Locale locale, @Nullable Locale... comparisons) {
-        return LocalePlainWraps.equalsAnyLanguageTags(locale, comparisons);
+        LocaleTagRegistry registry = getRegistry();
+        int id = registry.idOf(locale);
+        if (id == LocaleTagRegistry.NOT_FOUND || comparisons == null) {
+            return LocalePlainWraps.equalsAnyLanguageTags(locale, comparisons);
+        }
+        for (Locale comparison : comparisons) {
+            if (equalsLocale(registry, id, locale, comparison)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     public boolean equalsAny(@Nullable Locale locale, @Nullable String... languageTags) {
-        return LocalePlainWraps.equalsAnyLanguageTags(locale, languageTags);
+        LocaleTagRegistry registry = getRegistry();
+        int id = registry.idOf(locale);
+        if (id == LocaleTagRegistry.NOT_FOUND || languageTags == null) {
+            return LocalePlainWraps.equalsAnyLanguageTags(locale, languageTags);
+        }
+        for (String languageTag : languageTags) {
+            int tagId = registry.idOf(languageTag);
+            if (tagId == id || (tagId == LocaleTagRegistry.NOT_FOUND && languageTag != null && LocalePlainWraps.equalsAnyLanguageTags(locale, languageTag))) {
+                return true;
+            }
+        }
+        return false;
     }
 
     public boolean equalsAny(@Nullable Locale locale, @Nullable Collection<Locale> comparisons) {
-        return LocalePlainWraps.equalsAnyLanguageTags(locale, comparisons);
+        LocaleTagRegistry registry = getRegistry();
+        int id = registry.idOf(locale);
+        if (id == LocaleTagRegistry.NOT_FOUND || comparisons == null) {
+            return LocalePlainWraps.equalsAnyLanguageTags(locale, comparisons);
+        }
+        for (Locale comparison : comparisons) {
+            if (equalsLocale(registry, id, locale, comparison)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     public String getLanguageName(@Nullable String languageTag) {
-        return (properties.getModelAndView().getTagNames() == null) ? null : properties.getModelAndView().getTagNames().get(languageTag);
+        LocaleTagRegistry registry = getRegistry();
+        int id = registry.idOf(languageTag);
+        return (id == LocaleTagRegistry.NOT_FOUND) ? null : registry.getLanguageName(id);
     }
 
     public String getLanguageName(@Nullable Locale locale) {
-        return (locale == null) ? null : getLanguageName(locale.toLanguageTag());
+        LocaleTagRegistry registry = getRegistry();
+        int id = registry.idOf(locale);
+        return (id == LocaleTagRegistry.NOT_FOUND) ? null : registry.getLanguageName(id);
+    }
+
+    /**
+     * Compares the registry ids if both locales are registered, otherwise compares the language tags
+     */
+    private boolean equalsLocale(@Nonnull LocaleTagRegistry registry, int id, @Nonnull Locale locale, @Nullable Locale comparison) {
+        int comparisonId = registry.idOf(comparison);
+        return (comparisonId != LocaleTagRegistry.NOT_FOUND) ? comparisonId == id : LocalePlainWraps.equalsAnyLanguageTags(locale, comparison);
     }
 }
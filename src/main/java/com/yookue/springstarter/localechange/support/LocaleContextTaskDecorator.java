@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2022 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.springstarter.localechange.support;
+
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.springframework.context.i18n.LocaleContext;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.context.i18n.SimpleLocaleContext;
+import org.springframework.context.i18n.SimpleTimeZoneAwareLocaleContext;
+import org.springframework.context.i18n.TimeZoneAwareLocaleContext;
+import org.springframework.core.task.TaskDecorator;
+
+
+/**
+ * {@link org.springframework.core.task.TaskDecorator} that captures the locale context of the submitting thread, and binds it to the executing thread
+ * <p>
+ * The locale context is captured once as an immutable snapshot, so the tasks (such as the events of {@code SseEmitter}s) resolve messages without resolving the locale again
+ *
+ * @author David Hsing
+ * @see org.springframework.context.i18n.LocaleContextHolder
+ */
+@SuppressWarnings("unused")
+public class LocaleContextTaskDecorator implements TaskDecorator {
+    @Override
+    @Nonnull
+    public Runnable decorate(@Nonnull Runnable runnable) {
+        LocaleContext context = capture(LocaleContextHolder.getLocaleContext());
+        if (context == null) {
+            return runnable;
+        }
+        return () -> {
+            LocaleContext previous = LocaleContextHolder.getLocaleContext();
+            LocaleContextHolder.setLocaleContext(context);
+            try {
+                runnable.run();
+            } finally {
+                LocaleContextHolder.setLocaleContext(previous);
+            }
+        };
+    }
+
+    /**
+     * Returns an immutable snapshot of the locale context, or the context itself if it is immutable already
+     * <p>
+     * The locale contexts that are bound by {@code DispatcherServlet} resolve the locale lazily from the request, which must not be touched by other threads
+     */
+    @Nullable
+    public static LocaleContext capture(@Nullable LocaleContext context) {
+        if (context == null || context instanceof SimpleTimeZoneAwareLocaleContext || context.getClass() == SimpleLocaleContext.class) {
+            return context;
+        }
+        if (context instanceof TimeZoneAwareLocaleContext timeZoneContext) {
+            return new SimpleTimeZoneAwareLocaleContext(timeZoneContext.getLocale(), timeZoneContext.getTimeZone());
+        }
+        return new SimpleLocaleContext(context.getLocale());
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2022 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.springstarter.localechange.support;
+
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.StringUtils;
+
+
+/**
+ * Matcher that maps request hosts to locales, by the rules that compiled once
+ * <p>
+ * A rule is an exact host ({@code de.example.com}), a wildcard subdomain ({@code *.example.fr}), or a wildcard domain of a subdomain ({@code de.*}).
+ * Exact hosts are looked up in a hash map first, then the suffixes from the longest, then the first label, and the results are cached per host
+ *
+ * @author David Hsing
+ */
+@SuppressWarnings("unused")
+public class LocaleHostMatcher {
+    private static final String WILDCARD_PREFIX = "*.";    // $NON-NLS-1$
+    private static final String WILDCARD_SUFFIX = ".*";    // $NON-NLS-1$
+    private final Map<String, Locale> exactHosts = new HashMap<>();
+    private final Map<String, Locale> suffixHosts = new HashMap<>();
+    private final Map<String, Locale> labelHosts = new HashMap<>();
+    private final Map<Locale, String> localeHosts = new HashMap<>();
+    private final BoundedConcurrentCache<String, Locale> hostCache = new BoundedConcurrentCache<>(1024);
+
+    /**
+     * Constructs a matcher
+     *
+     * @param hostLocales the rule and language tag mappings, in priority order
+     * @param tagRegistry the registry to canonicalize the locales
+     */
+    public LocaleHostMatcher(@Nullable Map<String, String> hostLocales, @Nonnull LocaleTagRegistry tagRegistry) {
+        if (CollectionUtils.isEmpty(hostLocales)) {
+            return;
+        }
+        for (Map.Entry<String, String> entry : hostLocales.entrySet()) {
+            Locale locale = tagRegistry.canonicalize(parseLocale(entry.getValue()));
+            if (!StringUtils.hasText(entry.getKey()) || locale == null) {
+                continue;
+            }
+            String rule = entry.getKey().trim().toLowerCase(Locale.ROOT);
+            if (rule.startsWith(WILDCARD_PREFIX)) {
+                suffixHosts.putIfAbsent(rule.substring(1), locale);
+            } else if (rule.endsWith(WILDCARD_SUFFIX)) {
+                labelHosts.putIfAbsent(rule.substring(0, rule.length() - WILDCARD_SUFFIX.length()), locale);
+            } else {
+                exactHosts.putIfAbsent(rule, locale);
+                localeHosts.putIfAbsent(locale, rule);
+            }
+        }
+    }
+
+    public boolean isEmpty() {
+        return exactHosts.isEmpty() && suffixHosts.isEmpty() && labelHosts.isEmpty();
+    }
+
+    /**
+     * Returns the locale of the host, or {@code null} if no rule matches
+     */
+    @Nullable
+    public Locale match(@Nullable String host) {
+        return (!StringUtils.hasLength(host) || isEmpty()) ? null : hostCache.get(host, this::lookup);
+    }
+
+    /**
+     * Returns the first exact host that mapped to the locale, for generating cross host links
+     */
+    @Nullable
+    public String getHost(@Nullable Locale locale) {
+        return (locale == null) ? null : localeHosts.get(locale);
+    }
+
+    @Nonnull
+    public BoundedConcurrentCache<String, Locale> getHostCache() {
+        return hostCache;
+    }
+
+    @Nullable
+    private Locale lookup(@Nonnull String rawHost) {
+        String host = rawHost.toLowerCase(Locale.ROOT);
+        if (host.endsWith(".")) {    // $NON-NLS-1$
+            host = host.substring(0, host.length() - 1);
+        }
+        Locale result = exactHosts.get(host);
+        if (result != null) {
+            return result;
+        }
+        if (!suffixHosts.isEmpty()) {
+            for (int i = host.indexOf('.'); i >= 0; i = host.indexOf('.', i + 1)) {
+                result = suffixHosts.get(host.substring(i));
+                if (result != null) {
+                    return result;
+                }
+            }
+        }
+        int index = host.indexOf('.');
+        return (index > 0 && !labelHosts.isEmpty()) ? labelHosts.get(host.substring(0, index)) : null;
+    }
+
+    @Nullable
+    private static Locale parseLocale(@Nullable String languageTag) {
+        try {
+            return StringUtils.parseLocale(languageTag);
+        } catch (Exception ignored) {
+        }
+        return null;
+    }
+}
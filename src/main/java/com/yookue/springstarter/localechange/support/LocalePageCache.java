@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2022 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.springstarter.localechange.support;
+
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.springframework.context.ApplicationListener;
+import org.springframework.util.Assert;
+import com.yookue.springstarter.localechange.event.MessageSourceReloadedEvent;
+
+
+/**
+ * Cache of the rendered pages, which are keyed by request uri, query string, locale and time zone
+ * <p>
+ * The entries are bounded by count and time to live, and are all invalidated when the {@code MessageSource} is reloaded
+ *
+ * @author David Hsing
+ * @see com.yookue.springstarter.localechange.filter.LocalePageCacheFilter
+ */
+@SuppressWarnings("unused")
+public class LocalePageCache implements ApplicationListener<MessageSourceReloadedEvent> {
+    private final BoundedConcurrentCache<PageKey, CachedPage> cache;
+    private final long timeToLiveNanos;
+
+    public LocalePageCache(int maximumSize, @Nonnull Duration timeToLive) {
+        Assert.isTrue(!timeToLive.isNegative() && !timeToLive.isZero(), "Time to live must be positive");
+        this.cache = new BoundedConcurrentCache<>(maximumSize);
+        this.timeToLiveNanos = timeToLive.toNanos();
+    }
+
+    @Nullable
+    public CachedPage get(@Nonnull PageKey key) {
+        CachedPage page = cache.getIfPresent(key);
+        if (page == null) {
+            return null;
+        }
+        if (System.nanoTime() - page.expiresAt() > 0L) {
+            cache.invalidate(key);
+            return null;
+        }
+        return page;
+    }
+
+    public void put(@Nonnull PageKey key, @Nullable String contentType, @Nonnull Map<String, List<String>> headers, @Nonnull byte[] body) {
+        cache.put(key, new CachedPage(contentType, headers, body, System.nanoTime() + timeToLiveNanos));
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    @Override
+    public void onApplicationEvent(@Nonnull MessageSourceReloadedEvent event) {
+        clear();
+    }
+
+
+    /**
+     * Key of a cached page
+     *
+     * @param timeZone the id of the resolved time zone, or {@code null} if the locale resolver does not resolve time zones
+     */
+    public record PageKey(@Nonnull String requestUri, @Nullable String queryString, @Nonnull Locale locale, @Nullable String timeZone) {
+    }
+
+
+    /**
+     * Rendered page with its response headers, the headers and the body must not be modified
+     */
+    public record CachedPage(@Nullable String contentType, @Nonnull Map<String, List<String>> headers, @Nonnull byte[] body, long expiresAt) {
+    }
+}
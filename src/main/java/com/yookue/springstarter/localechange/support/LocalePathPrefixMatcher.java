@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2022 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.springstarter.localechange.support;
+
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+
+/**
+ * Matcher of the locale prefixes of request paths (such as {@code /zh-CN/products}), which is compiled from the supported language tags once
+ * <p>
+ * Both the keys of {@code tagNames} and the canonical language tags are compiled into a case-insensitive prefix trie,
+ * and each terminal node holds a prebuilt {@link Match}, so a lookup walks the path once, without allocating
+ *
+ * @author David Hsing
+ * @see com.yookue.springstarter.localechange.support.LocaleTagRegistry
+ */
+@SuppressWarnings("unused")
+public class LocalePathPrefixMatcher {
+    private final TrieNode root = new TrieNode();
+    private final LocaleTagRegistry tagRegistry;
+
+    public LocalePathPrefixMatcher(@Nonnull LocaleTagRegistry tagRegistry) {
+        this.tagRegistry = tagRegistry;
+        for (int id = 0; id < tagRegistry.size(); id++) {
+            addPrefix(tagRegistry.getLanguageTag(id), id);
+            addPrefix(tagRegistry.getLocale(id).toLanguageTag(), id);
+        }
+    }
+
+    @Nonnull
+    public LocaleTagRegistry getTagRegistry() {
+        return tagRegistry;
+    }
+
+    /**
+     * Returns the match of the locale prefix, if the path starts with a slash and a supported language tag, followed by a slash or nothing
+     */
+    @Nullable
+    public Match match(@Nullable String path) {
+        if (path == null || path.length() < 2 || path.charAt(0) != '/') {
+            return null;
+        }
+        TrieNode node = root;
+        int length = path.length();
+        for (int i = 1; i < length; i++) {
+            char ch = path.charAt(i);
+            if (ch == '/') {
+                return node.match;
+            }
+            node = node.children.get(Character.toLowerCase(ch));
+            if (node == null) {
+                return null;
+            }
+        }
+        return node.match;
+    }
+
+    private void addPrefix(@Nonnull String languageTag, int id) {
+        TrieNode node = root;
+        for (int i = 0; i < languageTag.length(); i++) {
+            node = node.children.computeIfAbsent(Character.toLowerCase(languageTag.charAt(i)), key -> new TrieNode());
+        }
+        if (node.match == null) {
+            node.match = new Match(id, tagRegistry.getLocale(id), tagRegistry.getLanguageTag(id), languageTag.length() + 1);
+        }
+    }
+
+
+    /**
+     * Matched locale prefix
+     *
+     * @param id the id of the locale in the registry
+     * @param locale the canonical locale
+     * @param languageTag the language tag to generate links, which is the key of {@code tagNames}
+     * @param length the length of the prefix, including the leading slash
+     */
+    public record Match(int id, @Nonnull Locale locale, @Nonnull String languageTag, int length) {
+    }
+
+
+    private static class TrieNode {
+        private final Map<Character, TrieNode> children = new HashMap<>(4);
+        private Match match;
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2022 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.springstarter.localechange.support;
+
+
+import java.util.Collection;
+import java.util.Locale;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import com.yookue.springstarter.localechange.enumeration.LocaleResolutionSource;
+
+
+/**
+ * Recorder of locale resolutions, for observing how the locales of requests are resolved
+ * <p>
+ * Implementations are invoked on every request, so they must not allocate or block
+ *
+ * @author David Hsing
+ */
+@SuppressWarnings("unused")
+public interface LocaleResolutionRecorder {
+    /**
+     * The recorder that records nothing
+     */
+    LocaleResolutionRecorder NONE = new LocaleResolutionRecorder() {
+    };
+
+    default void recordResolution(@Nonnull LocaleResolutionSource source, @Nullable Locale locale) {
+    }
+
+    default void recordInvalidValue(@Nonnull LocaleResolutionSource source) {
+    }
+
+    /**
+     * Records an invalid raw value, which delegates to {@link #recordInvalidValue(LocaleResolutionSource)} by default
+     */
+    default void recordInvalidValue(@Nonnull LocaleResolutionSource source, @Nonnull String value) {
+        recordInvalidValue(source);
+    }
+
+    /**
+     * Records a valid raw value of a locale that is not supported, which is folded onto a supported locale
+     */
+    default void recordUnsupportedValue(@Nonnull LocaleResolutionSource source, @Nonnull String value) {
+    }
+
+    default void recordFilterTime(long nanos) {
+    }
+
+    default void recordPostHandleTime(long nanos) {
+    }
+
+    default void registerCache(@Nonnull String name, @Nonnull BoundedConcurrentCache<?, ?> cache) {
+    }
+
+    /**
+     * Returns a recorder that records to all the recorders, or {@link #NONE} if there are none
+     */
+    @Nonnull
+    static LocaleResolutionRecorder compose(@Nullable Collection<? extends LocaleResolutionRecorder> recorders) {
+        if (recorders == null || recorders.isEmpty()) {
+            return NONE;
+        }
+        return (recorders.size() == 1) ? recorders.iterator().next() : new CompositeLocaleResolutionRecorder(recorders);
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2022 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.springstarter.localechange.support;
+
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.springframework.context.MessageSource;
+import com.yookue.commonplexus.javaseutil.util.MapPlainWraps;
+import com.yookue.commonplexus.springutil.util.MessageSourceWraps;
+import com.yookue.springstarter.localechange.property.LocaleChangeProperties;
+import lombok.Getter;
+
+
+/**
+ * Resolver of the tag names to display, for servlet and reactive views
+ * <p>
+ * When {@code tagMultilingual} is {@code true}, the translated tag names are immutable snapshots, which are built once per locale and shared by all requests.
+ * The translations are rebuilt when the configuration snapshot is swapped
+ *
+ * @author David Hsing
+ */
+@SuppressWarnings("unused")
+public class LocaleTagNamesResolver {
+    @Getter
+    private final LocaleChangeSnapshotHolder snapshotHolder;
+
+    @Getter
+    private final BoundedConcurrentCache<Locale, TranslatedTagNames> snapshots = new BoundedConcurrentCache<>(64);
+
+    @Getter
+    private MessageSource messageSource;
+
+    public LocaleTagNamesResolver(@Nonnull LocaleChangeProperties properties) {
+        this(new LocaleChangeSnapshotHolder(properties));
+    }
+
+    public LocaleTagNamesResolver(@Nonnull LocaleChangeSnapshotHolder snapshotHolder) {
+        this.snapshotHolder = snapshotHolder;
+    }
+
+    public void setMessageSource(@Nullable MessageSource messageSource) {
+        this.messageSource = messageSource;
+        clearSnapshots();
+    }
+
+    @Nullable
+    public Map<String, String> resolveTagNames(@Nonnull Locale locale) {
+        LocaleChangeSnapshot snapshot = snapshotHolder.get();
+        if (snapshot.getTagNames().isEmpty()) {
+            return null;
+        }
+        if (!snapshot.isTagMultilingual()) {
+            return snapshot.getTagNames();
+        }
+        TranslatedTagNames result = snapshots.get(locale, key -> new TranslatedTagNames(snapshot, buildSnapshot(snapshot, key)));
+        if (result == null || result.source() != snapshot) {
+            result = new TranslatedTagNames(snapshot, buildSnapshot(snapshot, locale));
+            snapshots.put(locale, result);
+        }
+        return result.tagNames();
+    }
+
+    public void clearSnapshots() {
+        snapshots.clear();
+    }
+
+    @Nonnull
+    protected Map<String, String> buildSnapshot(@Nonnull LocaleChangeSnapshot snapshot, @Nonnull Locale locale) {
+        Map<String, String> result = new LinkedHashMap<>(snapshot.getTagNames());
+        MapPlainWraps.recompute(result, (key, value) -> MessageSourceWraps.getMessage(messageSource, value, value, locale));
+        return Collections.unmodifiableMap(result);
+    }
+
+
+    /**
+     * The translated tag names of a locale, and the configuration snapshot that they are built from
+     */
+    public record TranslatedTagNames(@Nonnull LocaleChangeSnapshot source, @Nonnull Map<String, String> tagNames) {
+    }
+}
@@ -0,0 +1,239 @@
+/*
+ * Copyright (c) 2022 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.springstarter.localechange.support;
+
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.StringUtils;
+import com.yookue.springstarter.localechange.property.LocaleChangeProperties;
+
+
+/**
+ * Registry of the supported locales (the keys of {@code tagNames}), which is built once at startup
+ * <p>
+ * Each supported locale has a small integer id (its ordinal in {@code tagNames}) and a canonical {@link java.util.Locale} instance,
+ * so that the lookups of locales and language tags are hash or array based, without allocating strings.
+ * The unsupported locales can be negotiated to the supported ones through a precomputed fallback chain, such as {@code zh-Hant-TW -> zh-TW -> zh}
+ *
+ * @author David Hsing
+ */
+@SuppressWarnings("unused")
+public class LocaleTagRegistry {
+    public static final int NOT_FOUND = -1;
+    private static final Map<String, String> CHINESE_SCRIPTS = Map.of("CN", "Hans", "SG", "Hans", "TW", "Hant", "HK", "Hant", "MO", "Hant");    // $NON-NLS-1$ // $NON-NLS-2$ // $NON-NLS-3$ // $NON-NLS-4$ // $NON-NLS-5$ // $NON-NLS-6$ // $NON-NLS-7$ // $NON-NLS-8$ // $NON-NLS-9$ // $NON-NLS-10$
+    private final Locale[] locales;
+    private final String[] languageTags;
+    private final String[] languageNames;
+    private final Map<Locale, Integer> localeIds;
+    private final Map<String, Integer> tagIds;
+    private final Map<String, Integer> fallbackIds;
+
+    public LocaleTagRegistry(@Nonnull LocaleChangeProperties properties) {
+        this(properties.getModelAndView().getTagNames());
+    }
+
+    public LocaleTagRegistry(@Nullable Map<String, String> tagNames) {
+        int size = CollectionUtils.isEmpty(tagNames) ? 0 : tagNames.size();
+        Locale[] parsedLocales = new Locale[size];
+        String[] parsedTags = new String[size];
+        String[] parsedNames = new String[size];
+        Map<Locale, Integer> parsedLocaleIds = new HashMap<>(Math.max(size * 2, 4));
+        Map<String, Integer> parsedTagIds = new HashMap<>(Math.max(size * 4, 4));
+        int count = 0;
+        if (size > 0) {
+            for (Map.Entry<String, String> entry : tagNames.entrySet()) {
+                Locale locale = parseLocale(entry.getKey());
+                if (locale == null || parsedLocaleIds.containsKey(locale)) {
+                    continue;
+                }
+                parsedLocales[count] = locale;
+                parsedTags[count] = entry.getKey();
+                parsedNames[count] = entry.getValue();
+                parsedLocaleIds.put(locale, count);
+                parsedTagIds.putIfAbsent(entry.getKey(), count);
+                parsedTagIds.putIfAbsent(locale.toLanguageTag(), count);
+                count++;
+            }
+        }
+        this.locales = Arrays.copyOf(parsedLocales, count);
+        this.languageTags = Arrays.copyOf(parsedTags, count);
+        this.languageNames = Arrays.copyOf(parsedNames, count);
+        this.localeIds = parsedLocaleIds;
+        this.tagIds = parsedTagIds;
+        this.fallbackIds = buildFallbackIds(locales);
+    }
+
+    /**
+     * Returns the id of the locale, or {@link #NOT_FOUND} if it is not supported
+     */
+    public int idOf(@Nullable Locale locale) {
+        if (locale == null) {
+            return NOT_FOUND;
+        }
+        for (int i = 0; i < locales.length; i++) {
+            if (locales[i] == locale) {
+                return i;
+            }
+        }
+        Integer result = localeIds.get(locale);
+        return (result == null) ? NOT_FOUND : result;
+    }
+
+    /**
+     * Returns the id of the language tag (the key of {@code tagNames} or the canonical language tag), or {@link #NOT_FOUND} if it is not supported
+     */
+    public int idOf(@Nullable String languageTag) {
+        Integer result = (languageTag == null) ? null : tagIds.get(languageTag);
+        return (result == null) ? NOT_FOUND : result;
+    }
+
+    public boolean contains(@Nullable Locale locale) {
+        return idOf(locale) != NOT_FOUND;
+    }
+
+    public boolean contains(@Nullable String languageTag) {
+        return idOf(languageTag) != NOT_FOUND;
+    }
+
+    /**
+     * Returns the canonical instance of the locale if it is supported, or the locale itself
+     */
+    @Nullable
+    public Locale canonicalize(@Nullable Locale locale) {
+        int id = idOf(locale);
+        return (id == NOT_FOUND) ? locale : locales[id];
+    }
+
+    /**
+     * Returns the id of the supported locale that the locale falls back to, or {@link #NOT_FOUND} if none
+     * <p>
+     * The chain is the locale itself, then language-script-region, language-region, language-script and language,
+     * where the language fallback is the first supported locale of the language, such as {@code zh-Hant-TW -> zh-TW -> zh} (or {@code zh-HK -> zh-Hant})
+     */
+    public int negotiate(@Nullable Locale locale) {
+        int result = idOf(locale);
+        if (result != NOT_FOUND || locale == null || locale.getLanguage().isEmpty()) {
+            return result;
+        }
+        String language = locale.getLanguage(), country = locale.getCountry(), script = inferScript(locale);
+        if (!script.isEmpty() && !country.isEmpty()) {
+            result = fallbackIdOf(language + '-' + script + '-' + country);
+        }
+        if (result == NOT_FOUND && !country.isEmpty()) {
+            result = fallbackIdOf(language + '-' + country);
+        }
+        if (result == NOT_FOUND && !script.isEmpty()) {
+            result = fallbackIdOf(language + '-' + script);
+        }
+        return (result == NOT_FOUND) ? fallbackIdOf(language) : result;
+    }
+
+    @Nonnull
+    public Locale getLocale(int id) {
+        return locales[id];
+    }
+
+    /**
+     * Returns the language tag of the id, which is the key of {@code tagNames}
+     */
+    @Nonnull
+    public String getLanguageTag(int id) {
+        return languageTags[id];
+    }
+
+    /**
+     * Returns the language name of the id, which is the value of {@code tagNames}
+     */
+    @Nullable
+    public String getLanguageName(int id) {
+        return languageNames[id];
+    }
+
+    @Nonnull
+    public List<Locale> getLocales() {
+        return Collections.unmodifiableList(Arrays.asList(locales));
+    }
+
+    public int size() {
+        return locales.length;
+    }
+
+    public boolean isEmpty() {
+        return locales.length == 0;
+    }
+
+    private int fallbackIdOf(@Nonnull String key) {
+        Integer result = fallbackIds.get(key);
+        return (result == null) ? NOT_FOUND : result;
+    }
+
+    /**
+     * Returns the script of the locale, the scripts of chinese are inferred from the regions if absent, such as {@code zh-TW -> Hant}
+     */
+    @Nonnull
+    private static String inferScript(@Nonnull Locale locale) {
+        if (!locale.getScript().isEmpty() || !"zh".equals(locale.getLanguage())) {    // $NON-NLS-1$
+            return locale.getScript();
+        }
+        return CHINESE_SCRIPTS.getOrDefault(locale.getCountry(), "");    // $NON-NLS-1$
+    }
+
+    /**
+     * Returns the fallback keys of the supported locales, the exact language tags win, then the former locales win for the same key
+     */
+    @Nonnull
+    private static Map<String, Integer> buildFallbackIds(@Nonnull Locale[] locales) {
+        Map<String, Integer> result = new HashMap<>(Math.max(locales.length * 8, 4));
+        for (int i = 0; i < locales.length; i++) {
+            result.putIfAbsent(locales[i].toLanguageTag(), i);
+        }
+        for (int i = 0; i < locales.length; i++) {
+            String language = locales[i].getLanguage(), country = locales[i].getCountry(), script = inferScript(locales[i]);
+            if (language.isEmpty()) {
+                continue;
+            }
+            if (!script.isEmpty() && !country.isEmpty()) {
+                result.putIfAbsent(language + '-' + script + '-' + country, i);
+            }
+            if (!country.isEmpty()) {
+                result.putIfAbsent(language + '-' + country, i);
+            }
+            if (!script.isEmpty()) {
+                result.putIfAbsent(language + '-' + script, i);
+            }
+            result.putIfAbsent(language, i);
+        }
+        return result;
+    }
+
+    @Nullable
+    private static Locale parseLocale(@Nullable String languageTag) {
+        try {
+            return StringUtils.parseLocale(languageTag);
+        } catch (Exception ignored) {
+        }
+        return null;
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2022 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.springstarter.localechange.support;
+
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.MessageSource;
+import org.springframework.core.Ordered;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+import lombok.Getter;
+import lombok.Setter;
+
+
+/**
+ * {@link org.springframework.boot.ApplicationRunner} that warms up the {@link org.springframework.context.MessageSource} for the locales of {@code tagNames}
+ * <p>
+ * For each locale, the bundles are loaded, the configured message keys are resolved, and the translated tag names are built, in parallel across locales.
+ * Since Spring Boot publishes {@code ReadinessState.ACCEPTING_TRAFFIC} after all the application runners, the readiness is reported only once the warm-up completes
+ *
+ * @author David Hsing
+ * @see org.springframework.boot.availability.ReadinessState
+ */
+@Getter
+@Setter
+@SuppressWarnings("unused")
+public class MessageSourceWarmUpRunner implements ApplicationRunner, Ordered {
+    /**
+     * A code that is not expected to exist, the lookup of which loads the bundles of a locale
+     */
+    private static final String BUNDLE_PROBE_CODE = "spring.locale-change.warm-up";    // $NON-NLS-1$
+    private static final String THREAD_NAME_PREFIX = "locale-warm-up-";    // $NON-NLS-1$
+    private static final Log logger = LogFactory.getLog(MessageSourceWarmUpRunner.class);
+    private final MessageSource messageSource;
+    private final LocaleChangeSnapshotHolder snapshotHolder;
+    private final List<Function<Locale, Map<String, String>>> tagNamesResolvers = new ArrayList<>();
+    private List<String> messageKeys;
+    private int parallelism;
+    private Duration timeout = Duration.ofSeconds(30L);
+    private int order = Ordered.HIGHEST_PRECEDENCE;
+
+    public MessageSourceWarmUpRunner(@Nonnull MessageSource messageSource, @Nonnull LocaleChangeSnapshotHolder snapshotHolder) {
+        this.messageSource = messageSource;
+        this.snapshotHolder = snapshotHolder;
+    }
+
+    /**
+     * Adds a resolver of tag names, the snapshots of which are built for every locale
+     */
+    public void addTagNamesResolver(@Nonnull Function<Locale, Map<String, String>> resolver) {
+        tagNamesResolvers.add(resolver);
+    }
+
+    public void setTimeout(@Nonnull Duration timeout) {
+        Assert.isTrue(!timeout.isNegative() && !timeout.isZero(), "Timeout must be positive");
+        this.timeout = timeout;
+    }
+
+    @Override
+    public void run(@Nullable ApplicationArguments arguments) {
+        warmUp();
+    }
+
+    /**
+     * Warms up all the locales of {@code tagNames}, and waits until they complete or the timeout elapses
+     *
+     * @return whether all the locales are warmed up within the timeout
+     */
+    public boolean warmUp() {
+        List<Locale> locales = snapshotHolder.get().getTagRegistry().getLocales();
+        if (locales.isEmpty()) {
+            return true;
+        }
+        int threads = Math.min(locales.size(), (parallelism > 0) ? parallelism : Runtime.getRuntime().availableProcessors());
+        ExecutorService executor = Executors.newFixedThreadPool(threads, new CustomizableThreadFactory(THREAD_NAME_PREFIX));
+        try {
+            List<Callable<Locale>> tasks = new ArrayList<>(locales.size());
+            for (Locale locale : locales) {
+                tasks.add(() -> {
+                    warmUp(locale);
+                    return locale;
+                });
+            }
+            boolean completed = true;
+            for (Future<Locale> future : executor.invokeAll(tasks, timeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                try {
+                    future.get();
+                } catch (CancellationException ex) {
+                    completed = false;
+                } catch (ExecutionException ex) {
+                    completed = false;
+                    logger.warn("Failed to warm up message source", ex.getCause());    // $NON-NLS-1$
+                }
+            }
+            if (!completed) {
+                logger.warn(String.format("Message source is not fully warmed up within %s", timeout));    // $NON-NLS-1$
+            }
+            return completed;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Warms up the bundles, message keys and tag names of the locale
+     */
+    protected void warmUp(@Nonnull Locale locale) {
+        messageSource.getMessage(BUNDLE_PROBE_CODE, null, null, locale);
+        if (messageKeys != null) {
+            for (String key : messageKeys) {
+                messageSource.getMessage(key, null, null, locale);
+            }
+        }
+        for (Function<Locale, Map<String, String>> resolver : tagNamesResolvers) {
+            resolver.apply(locale);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2022 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.springstarter.localechange.support;
+
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import jakarta.servlet.http.HttpServletRequest;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.http.server.PathContainer;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.CollectionUtils;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PatternParseException;
+import org.springframework.web.util.pattern.PathPatternParser;
+import com.yookue.commonplexus.springutil.util.UriUtilsWraps;
+
+
+/**
+ * Matcher that compiles ant-style path patterns once, for checking whether a request path should be excluded
+ * <p>
+ * Patterns are classified into exact paths (hash set), {@code /prefix/**} patterns (prefix trie), {@code /**}{@code /*.ext} patterns (suffixes),
+ * and the rest fall back to {@link org.springframework.web.util.pattern.PathPattern}, or {@link org.springframework.util.AntPathMatcher} if they cannot be parsed
+ *
+ * @author David Hsing
+ * @see com.yookue.commonplexus.springutil.util.AntPathWraps
+ */
+@SuppressWarnings("unused")
+public class PathExclusionMatcher {
+    private static final String ANY_PATH_SUFFIX = "/**";    // $NON-NLS-1$
+    private static final String ANY_FILE_PREFIX = "/**/*";    // $NON-NLS-1$
+    private static final PathExclusionMatcher EMPTY = new PathExclusionMatcher();
+    private final Set<String> exactPaths = new HashSet<>();
+    private final TrieNode prefixRoot = new TrieNode();
+    private final List<String> suffixes = new ArrayList<>();
+    private final List<PathPattern> pathPatterns = new ArrayList<>();
+    private final List<String> antPatterns = new ArrayList<>();
+    private final AntPathMatcher antMatcher = new AntPathMatcher();
+    private boolean matchAll;
+    private boolean empty = true;
+
+    private PathExclusionMatcher() {
+    }
+
+    @Nonnull
+    public static PathExclusionMatcher compile(@Nullable Collection<String> patterns) {
+        if (CollectionUtils.isEmpty(patterns)) {
+            return EMPTY;
+        }
+        PathExclusionMatcher result = new PathExclusionMatcher();
+        patterns.stream().filter(StringUtils::isNotBlank).map(StringUtils::trim).forEach(result::addPattern);
+        return result;
+    }
+
+    public boolean isEmpty() {
+        return empty;
+    }
+
+    public boolean matches(@Nonnull HttpServletRequest request) {
+        return !empty && matches(UriUtilsWraps.getServletPath(request));
+    }
+
+    public boolean matches(@Nullable String path) {
+        if (empty || path == null) {
+            return false;
+        }
+        if (matchAll || exactPaths.contains(path) || matchesPrefix(path)) {
+            return true;
+        }
+        for (String suffix : suffixes) {
+            if (path.endsWith(suffix)) {
+                return true;
+            }
+        }
+        if (!pathPatterns.isEmpty()) {
+            PathContainer container = PathContainer.parsePath(path);
+            for (PathPattern pattern : pathPatterns) {
+                if (pattern.matches(container)) {
+                    return true;
+                }
+            }
+        }
+        for (String pattern : antPatterns) {
+            if (antMatcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void addPattern(@Nonnull String pattern) {
+        empty = false;
+        if (!hasWildcard(pattern)) {
+            exactPaths.add(pattern);
+            return;
+        }
+        if (pattern.endsWith(ANY_PATH_SUFFIX) && !hasWildcard(pattern.substring(0, pattern.length() - ANY_PATH_SUFFIX.length()))) {
+            String prefix = pattern.substring(0, pattern.length() - ANY_PATH_SUFFIX.length());
+            if (prefix.isEmpty()) {
+                matchAll = true;
+            } else {
+                addPrefix(prefix);
+            }
+            return;
+        }
+        if (pattern.startsWith(ANY_FILE_PREFIX) && pattern.length() > ANY_FILE_PREFIX.length()) {
+            String suffix = pattern.substring(ANY_FILE_PREFIX.length());
+            if (!hasWildcard(suffix) && suffix.indexOf('/') < 0) {
+                suffixes.add(suffix);
+                return;
+            }
+        }
+        try {
+            pathPatterns.add(PathPatternParser.defaultInstance.parse(pattern));
+        } catch (PatternParseException ignored) {
+            antPatterns.add(pattern);
+        }
+    }
+
+    private void addPrefix(@Nonnull String prefix) {
+        TrieNode node = prefixRoot;
+        for (int i = 0; i < prefix.length(); i++) {
+            node = node.children.computeIfAbsent(prefix.charAt(i), key -> new TrieNode());
+        }
+        node.terminal = true;
+    }
+
+    /**
+     * Returns whether the path equals to, or is under any of the prefixes
+     */
+    private boolean matchesPrefix(@Nonnull String path) {
+        TrieNode node = prefixRoot;
+        for (int i = 0; i < path.length(); i++) {
+            if (node.terminal && path.charAt(i) == '/') {
+                return true;
+            }
+            node = node.children.get(path.charAt(i));
+            if (node == null) {
+                return false;
+            }
+        }
+        return node.terminal;
+    }
+
+    private static boolean hasWildcard(@Nonnull String pattern) {
+        return StringUtils.containsAny(pattern, '*', '?', '{');
+    }
+
+
+    private static class TrieNode {
+        private final Map<Character, TrieNode> children = new HashMap<>(4);
+        private boolean terminal;
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2022 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.springstarter.localechange.support;
+
+
+import java.time.ZoneId;
+import java.util.TimeZone;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.apache.commons.lang3.StringUtils;
+import lombok.Getter;
+
+
+/**
+ * Parser that maps raw time zone values (from request parameters, headers and cookies) to interned {@link java.time.ZoneId} and {@link java.util.TimeZone} instances
+ * <p>
+ * Both {@link java.time.ZoneId#of(String)} and {@link java.util.TimeZone#getTimeZone(java.time.ZoneId)} are expensive to be called per request,
+ * so the raw values and the zones are cached, and invalid values are cached as {@code null}.
+ * Short ids such as {@code PST} are accepted via {@link java.time.ZoneId#SHORT_IDS}.
+ * Since {@link java.util.TimeZone} is mutable, the interned time zones are never exposed, the callers get the clones of them
+ *
+ * @author David Hsing
+ */
+@Getter
+@SuppressWarnings("unused")
+public class TimeZoneParser {
+    public static final int DEFAULT_CACHE_SIZE = 256;
+
+    /**
+     * The cache of raw time zone values to zone ids
+     */
+    private final BoundedConcurrentCache<String, ZoneId> zoneIdCache;
+
+    /**
+     * The cache of zone ids to time zones, which are cloned before being returned
+     */
+    private final BoundedConcurrentCache<ZoneId, TimeZone> timeZoneCache;
+
+    public TimeZoneParser() {
+        this(DEFAULT_CACHE_SIZE);
+    }
+
+    public TimeZoneParser(int cacheSize) {
+        this.zoneIdCache = new BoundedConcurrentCache<>(cacheSize);
+        this.timeZoneCache = new BoundedConcurrentCache<>(cacheSize);
+    }
+
+    @Nullable
+    public ZoneId parseZoneId(@Nullable String value) {
+        return StringUtils.isBlank(value) ? null : zoneIdCache.get(value, TimeZoneParser::parseZoneIdValue);
+    }
+
+    @Nullable
+    public TimeZone parseTimeZone(@Nullable String value) {
+        ZoneId zoneId = parseZoneId(value);
+        return (zoneId == null) ? null : getTimeZone(zoneId);
+    }
+
+    /**
+     * Returns a clone of the interned time zone of the zone id, which is cheaper than {@link java.util.TimeZone#getTimeZone(java.time.ZoneId)}
+     */
+    @Nonnull
+    public TimeZone getTimeZone(@Nonnull ZoneId zoneId) {
+        TimeZone result = timeZoneCache.get(zoneId, TimeZone::getTimeZone);
+        return (result == null) ? TimeZone.getTimeZone(zoneId) : (TimeZone) result.clone();
+    }
+
+    @Nullable
+    private static ZoneId parseZoneIdValue(@Nonnull String value) {
+        try {
+            return ZoneId.of(value.trim(), ZoneId.SHORT_IDS);
+        } catch (Exception ignored) {
+        }
+        return null;
+    }
+}
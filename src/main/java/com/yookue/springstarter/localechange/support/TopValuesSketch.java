@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2022 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.springstarter.localechange.support;
+
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import jakarta.annotation.Nonnull;
+import org.springframework.util.Assert;
+
+
+/**
+ * Fixed memory sketch of the most frequent values (the heavy hitters), which is thread safe and lock free
+ * <p>
+ * The frequencies are estimated by a count-min sketch, whose counters are striped by threads like {@link java.util.concurrent.atomic.LongAdder},
+ * so the threads that add the same hot value do not contend on the same counters. The top values are the candidates of a fixed size array,
+ * which are replaced by more frequent values only when the estimate passes the least frequent candidate.
+ * The values are truncated to {@link #MAX_VALUE_LENGTH}, so clients cannot grow the memory by long values
+ *
+ * @author David Hsing
+ */
+@SuppressWarnings("unused")
+public class TopValuesSketch {
+    public static final int DEFAULT_CAPACITY = 16;
+    public static final int DEFAULT_WIDTH = 512;
+    public static final int MAX_VALUE_LENGTH = 64;
+    private static final int DEPTH = 4;
+    private static final int MAX_STRIPES = 8;
+    private final AtomicLongArray counts;
+    private final AtomicReferenceArray<String> candidates;
+    private final int width;
+    private final int stripeMask;
+
+    /**
+     * The estimate of the least frequent candidate, or {@code 0} if there are empty candidate slots
+     */
+    private volatile long threshold;
+
+    public TopValuesSketch() {
+        this(DEFAULT_CAPACITY, DEFAULT_WIDTH);
+    }
+
+    /**
+     * @param capacity the max count of the top values
+     * @param width the count of counters per row, which is rounded up to a power of two
+     */
+    public TopValuesSketch(int capacity, int width) {
+        Assert.isTrue(capacity > 0, "Capacity must be positive");
+        Assert.isTrue(width > 0, "Width must be positive");
+        int stripes = Math.min(Integer.highestOneBit(Math.max(Runtime.getRuntime().availableProcessors() * 2 - 1, 1)), MAX_STRIPES);
+        this.width = Integer.highestOneBit(Math.max(width - 1, 1)) << 1;
+        this.counts = new AtomicLongArray(this.width * DEPTH * stripes);
+        this.candidates = new AtomicReferenceArray<>(capacity);
+        this.stripeMask = stripes - 1;
+    }
+
+    public void add(@Nonnull String value) {
+        String key = truncate(value);
+        int hash = key.hashCode();
+        int base = stripeOfCurrentThread() * DEPTH * width;
+        for (int i = 0; i < DEPTH; i++) {
+            counts.incrementAndGet(base + index(hash, i));
+        }
+        if (isCandidate(key)) {
+            return;
+        }
+        long estimate = estimate(hash);
+        if (estimate > threshold) {
+            offer(key, estimate);
+        }
+    }
+
+    /**
+     * Returns the estimated count of the value
+     */
+    public long estimate(@Nonnull String value) {
+        return estimate(truncate(value).hashCode());
+    }
+
+    /**
+     * Returns the top values and their estimated counts, in descending order of the counts
+     */
+    @Nonnull
+    public List<ValueCount> getTopValues() {
+        List<ValueCount> result = new ArrayList<>(candidates.length());
+        Set<String> visited = new HashSet<>(candidates.length() * 2);
+        for (int i = 0; i < candidates.length(); i++) {
+            String candidate = candidates.get(i);
+            if (candidate != null && visited.add(candidate)) {
+                result.add(new ValueCount(candidate, estimate(candidate)));
+            }
+        }
+        result.sort(Comparator.comparingLong(ValueCount::count).reversed());
+        return result;
+    }
+
+    public void clear() {
+        for (int i = 0; i < candidates.length(); i++) {
+            candidates.set(i, null);
+        }
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, 0L);
+        }
+        threshold = 0L;
+    }
+
+    private long estimate(int hash) {
+        long result = Long.MAX_VALUE;
+        for (int i = 0; i < DEPTH; i++) {
+            long sum = 0L;
+            int index = index(hash, i);
+            for (int stripe = 0; stripe <= stripeMask; stripe++) {
+                sum += counts.get(stripe * DEPTH * width + index);
+            }
+            result = Math.min(result, sum);
+        }
+        return result;
+    }
+
+    private boolean isCandidate(@Nonnull String key) {
+        for (int i = 0; i < candidates.length(); i++) {
+            if (key.equals(candidates.get(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Offers the value to the candidates, which takes an empty slot, or replaces the least frequent candidate if the value is more frequent
+     */
+    private void offer(@Nonnull String key, long estimate) {
+        int minSlot = -1;
+        String minCandidate = null;
+        long minEstimate = Long.MAX_VALUE;
+        for (int i = 0; i < candidates.length(); i++) {
+            String candidate = candidates.get(i);
+            if (candidate == null) {
+                if (candidates.compareAndSet(i, null, key)) {
+                    return;
+                }
+                continue;
+            }
+            long candidateEstimate = estimate(candidate);
+            if (candidateEstimate < minEstimate) {
+                minSlot = i;
+                minCandidate = candidate;
+                minEstimate = candidateEstimate;
+            }
+        }
+        if (minSlot >= 0 && estimate > minEstimate && candidates.compareAndSet(minSlot, minCandidate, key)) {
+            minEstimate = estimate;
+            for (int i = 0; i < candidates.length(); i++) {
+                String candidate = candidates.get(i);
+                minEstimate = (candidate == null) ? 0L : Math.min(minEstimate, estimate(candidate));
+                if (minEstimate == 0L) {
+                    break;
+                }
+            }
+        }
+        threshold = (minSlot < 0) ? 0L : minEstimate;
+    }
+
+    /**
+     * Returns the index of the counter in the row, which hashes the value independently per row
+     */
+    private int index(int hash, int row) {
+        return row * width + (mix(hash + row * 0x9E3779B9) & (width - 1));
+    }
+
+    private int stripeOfCurrentThread() {
+        return (stripeMask == 0) ? 0 : mix((int) Thread.currentThread().getId()) & stripeMask;
+    }
+
+    @Nonnull
+    private static String truncate(@Nonnull String value) {
+        return (value.length() > MAX_VALUE_LENGTH) ? value.substring(0, MAX_VALUE_LENGTH) : value;
+    }
+
+    private static int mix(int hash) {
+        int result = (hash ^ (hash >>> 16)) * 0x85EBCA6B;
+        result = (result ^ (result >>> 13)) * 0xC2B2AE35;
+        return result ^ (result >>> 16);
+    }
+
+
+    /**
+     * A top value and its estimated count
+     */
+    public record ValueCount(@Nonnull String value, long count) {
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2022 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.springstarter.localechange;
+
+
+import java.lang.management.ManagementFactory;
+import jakarta.annotation.Nonnull;
+import jakarta.servlet.http.Cookie;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationContextFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcPrint;
+import org.springframework.boot.test.autoconfigure.web.servlet.SpringBootMockMvcBuilderCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.servlet.context.AnnotationConfigServletWebApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.setup.DefaultMockMvcBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import com.sun.management.ThreadMXBean;
+
+
+/**
+ * Allocation budget tests for locale change
+ * <p>
+ * Drives the filter, the locale resolver, the interceptors and a thymeleaf page through {@link org.springframework.test.web.servlet.MockMvc},
+ * and fails when the average bytes allocated per request exceed the ones of a baseline application (which disables locale change) by the budget.
+ * Therefore, the budgets exclude the allocations of {@code MockMvc} and a plain thymeleaf page, and can be overridden by the system properties of {@code locale.change.allocation-budget.*}.
+ * The results depend on the JVM, so the tests are tagged {@code allocation} and run only with the maven profile of {@code allocation}
+ *
+ * @author David Hsing
+ */
+@Tag(value = "allocation")
+@SpringBootTest(classes = MockApplicationInitializer.class)
+@AutoConfigureMockMvc(print = MockMvcPrint.NONE)
+class LocaleChangeAllocationTest {
+    private static final String BUDGET_PREFIX = "locale.change.allocation-budget.";    // $NON-NLS-1$
+    private static final int WARMUP_REQUESTS = 2000;
+    private static final int MEASURED_REQUESTS = 2000;
+    private static final long BUDGET_RENDER = 28 * 1024;
+    private static final long BUDGET_CHANGE = 18 * 1024;
+    private static ThreadMXBean threadBean;
+    private static ConfigurableApplicationContext baselineContext;
+    private static MockMvc baselineMvc;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @BeforeAll
+    static void checkAllocationSupported() {
+        threadBean = (ManagementFactory.getThreadMXBean() instanceof ThreadMXBean instance) ? instance : null;
+        Assumptions.assumeTrue(threadBean != null && threadBean.isThreadAllocatedMemorySupported(), "Thread allocated memory is not supported");
+        threadBean.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    @BeforeAll
+    static void startBaseline() {
+        baselineContext = new SpringApplicationBuilder(MockApplicationInitializer.class)
+            .contextFactory(ApplicationContextFactory.ofContextClass(AnnotationConfigServletWebApplicationContext.class))
+            .initializers(context -> ((AnnotationConfigServletWebApplicationContext) context).setServletContext(new MockServletContext()))
+            .properties("spring.locale-change.enabled=false", "spring.thymeleaf.prefix=classpath:/templates/baseline/")    // $NON-NLS-1$ // $NON-NLS-2$
+            .run();
+        DefaultMockMvcBuilder builder = MockMvcBuilders.webAppContextSetup((WebApplicationContext) baselineContext);
+        SpringBootMockMvcBuilderCustomizer customizer = new SpringBootMockMvcBuilderCustomizer((WebApplicationContext) baselineContext);
+        customizer.setPrint(MockMvcPrint.NONE);
+        customizer.customize(builder);
+        baselineMvc = builder.build();
+    }
+
+    @AfterAll
+    static void closeBaseline() {
+        if (baselineContext != null) {
+            baselineContext.close();
+        }
+    }
+
+    @Test
+    void renderWithCookie() throws Exception {
+        RequestBuilder builder = MockMvcRequestBuilders.get("/").cookie(new Cookie("lang", "zh-CN"));    // $NON-NLS-1$ // $NON-NLS-2$
+        MockHttpServletResponse response = mockMvc.perform(builder).andReturn().getResponse();
+        Assertions.assertEquals(HttpStatus.OK.value(), response.getStatus());
+        Assertions.assertTrue(StringUtils.contains(response.getContentAsString(), "lang=\"zh-CN\""));    // $NON-NLS-1$
+        Assertions.assertTrue(StringUtils.contains(response.getContentAsString(), "<p id=\"language\">简体中文</p>"));    // $NON-NLS-1$
+        assertBudget("render-with-cookie", builder, BUDGET_RENDER);    // $NON-NLS-1$
+    }
+
+    @Test
+    void renderWithAcceptLanguage() throws Exception {
+        RequestBuilder builder = MockMvcRequestBuilders.get("/").header(HttpHeaders.ACCEPT_LANGUAGE, "zh-TW,zh;q=0.9,en;q=0.8");    // $NON-NLS-1$ // $NON-NLS-2$
+        MockHttpServletResponse response = mockMvc.perform(builder).andReturn().getResponse();
+        Assertions.assertEquals(HttpStatus.OK.value(), response.getStatus());
+        Assertions.assertTrue(StringUtils.contains(response.getContentAsString(), "lang=\"zh-TW\""));    // $NON-NLS-1$
+        Assertions.assertTrue(StringUtils.contains(response.getContentAsString(), "<p id=\"language\">繁体中文</p>"));    // $NON-NLS-1$
+        assertBudget("render-with-accept-language", builder, BUDGET_RENDER);    // $NON-NLS-1$
+    }
+
+    @Test
+    void changeWithParam() throws Exception {
+        RequestBuilder builder = MockMvcRequestBuilders.get("/").param("lang", "en-US");    // $NON-NLS-1$ // $NON-NLS-2$
+        MockHttpServletResponse response = mockMvc.perform(builder).andReturn().getResponse();
+        Assertions.assertEquals(HttpStatus.OK.value(), response.getStatus());
+        Assertions.assertTrue(StringUtils.contains(response.getHeader(HttpHeaders.SET_COOKIE), "en-US"));    // $NON-NLS-1$
+        assertBudget("change-with-param", builder, BUDGET_CHANGE);    // $NON-NLS-1$
+    }
+
+    private void assertBudget(@Nonnull String name, @Nonnull RequestBuilder builder, long defaultBudget) throws Exception {
+        long budget = Long.getLong(BUDGET_PREFIX + name, defaultBudget);
+        long baseline = measureAllocatedBytes(baselineMvc, builder);
+        long allocated = measureAllocatedBytes(mockMvc, builder) - baseline;
+        Assertions.assertTrue(allocated <= budget, () -> String.format("Request '%s' allocated %d bytes more than the baseline of %d bytes on average, over the budget of %d bytes", name, allocated, baseline, budget));    // $NON-NLS-1$
+    }
+
+    private long measureAllocatedBytes(@Nonnull MockMvc mvc, @Nonnull RequestBuilder builder) throws Exception {
+        for (int i = 0; i < WARMUP_REQUESTS; i++) {
+            mvc.perform(builder);
+        }
+        long threadId = Thread.currentThread().getId();
+        long before = threadBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < MEASURED_REQUESTS; i++) {
+            mvc.perform(builder);
+        }
+        return (threadBean.getThreadAllocatedBytes(threadId) - before) / MEASURED_REQUESTS;
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2022 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.springstarter.localechange;
+
+
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+
+
+/**
+ * Mock application for locale change tests
+ * <p>
+ * Components are imported explicitly, since scanning this package would pick up the components of the starter itself
+ *
+ * @author David Hsing
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration
+@Import(value = MockApplicationInitializer.MockPageController.class)
+public class MockApplicationInitializer {
+    /**
+     * Controller that renders the template of {@code templates/index.html}
+     *
+     * @author David Hsing
+     */
+    @Controller
+    public static class MockPageController {
+        @GetMapping(path = "/")
+        public String index() {
+            return "index";    // $NON-NLS-1$
+        }
+    }
+}
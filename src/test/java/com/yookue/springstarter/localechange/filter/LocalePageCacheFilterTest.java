@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2022 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.springstarter.localechange.filter;
+
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import jakarta.annotation.Nonnull;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.i18n.TimeZoneAwareLocaleContext;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import com.yookue.springstarter.localechange.resolver.CookieLocaleContextResolver;
+import com.yookue.springstarter.localechange.support.LocalePageCache;
+import com.yookue.springstarter.localechange.support.PathExclusionMatcher;
+
+
+/**
+ * Tests for {@link com.yookue.springstarter.localechange.filter.LocalePageCacheFilter}
+ *
+ * @author David Hsing
+ */
+class LocalePageCacheFilterTest {
+    private static final String COOKIE_NAME = "lang";    // $NON-NLS-1$
+    private LocalePageCache pageCache;
+    private LocalePageCacheFilter filter;
+    private CookieLocaleContextResolver localeResolver;
+    private AtomicInteger renders;
+
+    @BeforeEach
+    void setUp() {
+        pageCache = new LocalePageCache(16, Duration.ofMinutes(1L));
+        filter = new LocalePageCacheFilter(pageCache);
+        filter.setCacheMatcher(PathExclusionMatcher.compile(List.of("/**")));    // $NON-NLS-1$
+        localeResolver = new CookieLocaleContextResolver(COOKIE_NAME);
+        filter.setLocaleResolver(localeResolver);
+        renders = new AtomicInteger();
+    }
+
+    @Test
+    void separateTimeZones() throws Exception {
+        Assertions.assertEquals("Asia/Tokyo", render("zh-CN/Asia/Tokyo"));    // $NON-NLS-1$ // $NON-NLS-2$
+        Assertions.assertEquals("Europe/Paris", render("zh-CN/Europe/Paris"));    // $NON-NLS-1$ // $NON-NLS-2$
+        Assertions.assertEquals(2, pageCache.size());
+        Assertions.assertEquals(2, renders.get());
+    }
+
+    @Test
+    void sameTimeZone() throws Exception {
+        Assertions.assertEquals("Asia/Tokyo", render("zh-CN/Asia/Tokyo"));    // $NON-NLS-1$ // $NON-NLS-2$
+        Assertions.assertEquals("Asia/Tokyo", render("zh-CN/Asia/Tokyo"));    // $NON-NLS-1$ // $NON-NLS-2$
+        Assertions.assertEquals(1, pageCache.size());
+        Assertions.assertEquals(1, renders.get());
+    }
+
+    /**
+     * Renders a page that prints the time zone of the locale context, and returns the response body
+     */
+    @Nonnull
+    private String render(@Nonnull String cookieValue) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/index");    // $NON-NLS-1$ // $NON-NLS-2$
+        request.setCookies(new Cookie(COOKIE_NAME, cookieValue));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(@Nonnull HttpServletRequest req, @Nonnull HttpServletResponse res) throws IOException {
+                renders.incrementAndGet();
+                res.setContentType("text/plain");    // $NON-NLS-1$
+                TimeZoneAwareLocaleContext context = (TimeZoneAwareLocaleContext) localeResolver.resolveLocaleContext(req);
+                res.getOutputStream().write(context.getTimeZone().getID().getBytes(StandardCharsets.UTF_8));
+            }
+        });
+        filter.doFilter(request, response, chain);
+        return response.getContentAsString();
+    }
+}
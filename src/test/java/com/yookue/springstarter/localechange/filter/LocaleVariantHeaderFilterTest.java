@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2022 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.springstarter.localechange.filter;
+
+
+import java.io.IOException;
+import java.util.Locale;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import com.yookue.springstarter.localechange.resolver.CookieLocaleContextResolver;
+
+
+/**
+ * Tests for {@link com.yookue.springstarter.localechange.filter.LocaleVariantHeaderFilter}
+ *
+ * @author David Hsing
+ */
+class LocaleVariantHeaderFilterTest {
+    private LocaleVariantHeaderFilter filter;
+    private CookieLocaleContextResolver localeResolver;
+
+    @BeforeEach
+    void setUp() {
+        localeResolver = new CookieLocaleContextResolver("lang");    // $NON-NLS-1$
+        localeResolver.setDefaultLocale(Locale.US);
+        filter = new LocaleVariantHeaderFilter();
+        filter.setLocaleResolver(localeResolver);
+    }
+
+    @Test
+    void unchangedLocale() throws Exception {
+        MockHttpServletResponse response = render(null);
+        Assertions.assertEquals("en-US", response.getHeader(HttpHeaders.CONTENT_LANGUAGE));    // $NON-NLS-1$
+    }
+
+    @Test
+    void changedLocale() throws Exception {
+        MockHttpServletResponse response = render(Locale.JAPAN);
+        Assertions.assertTrue(response.isCommitted());
+        Assertions.assertEquals("ja-JP", response.getHeader(HttpHeaders.CONTENT_LANGUAGE));    // $NON-NLS-1$
+    }
+
+    /**
+     * Renders a page with the handler that changes the locale (if any) and commits the response
+     */
+    @Nonnull
+    private MockHttpServletResponse render(@Nullable Locale locale) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");    // $NON-NLS-1$ // $NON-NLS-2$
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        HttpServlet servlet = new HttpServlet() {
+            @Override
+            protected void doGet(@Nonnull HttpServletRequest req, @Nonnull HttpServletResponse resp) throws IOException {
+                if (locale != null) {
+                    localeResolver.setLocale(req, resp, locale);
+                }
+                resp.getWriter().write("page");    // $NON-NLS-1$
+                resp.flushBuffer();
+            }
+        };
+        filter.doFilter(request, response, new MockFilterChain(servlet));
+        return response;
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2022 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.springstarter.localechange.resolver;
+
+
+import java.util.Locale;
+import java.util.TimeZone;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.i18n.LocaleContext;
+import org.springframework.context.i18n.SimpleLocaleContext;
+import org.springframework.context.i18n.SimpleTimeZoneAwareLocaleContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.i18n.CookieLocaleResolver;
+
+
+/**
+ * Tests for {@link com.yookue.springstarter.localechange.resolver.CookieLocaleContextResolver}
+ * <p>
+ * Counts the {@code Set-Cookie} headers that written with write avoidance
+ *
+ * @author David Hsing
+ */
+class CookieLocaleContextResolverTest {
+    private static final String COOKIE_NAME = "lang";    // $NON-NLS-1$
+    private CookieLocaleContextResolver resolver;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        resolver = new CookieLocaleContextResolver(COOKIE_NAME);
+        resolver.setDefaultLocale(Locale.US);
+        resolver.setWriteAvoidance(true);
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    void unchangedCookie() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(new Cookie(COOKIE_NAME, "zh-CN"));    // $NON-NLS-1$
+        resolver.setLocaleContext(request, response, new SimpleLocaleContext(Locale.SIMPLIFIED_CHINESE));
+        Assertions.assertTrue(response.getHeaders(HttpHeaders.SET_COOKIE).isEmpty());
+        Assertions.assertEquals(Locale.SIMPLIFIED_CHINESE, resolver.resolveLocale(request));
+    }
+
+    @Test
+    void changedCookie() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(new Cookie(COOKIE_NAME, "zh-CN"));    // $NON-NLS-1$
+        resolver.setLocaleContext(request, response, new SimpleLocaleContext(Locale.JAPAN));
+        Assertions.assertEquals(1, response.getHeaders(HttpHeaders.SET_COOKIE).size());
+        Assertions.assertTrue(response.getHeader(HttpHeaders.SET_COOKIE).startsWith(COOKIE_NAME + "=ja-JP"));    // $NON-NLS-1$
+    }
+
+    @Test
+    void repeatedWrites() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        resolver.setLocaleContext(request, response, new SimpleLocaleContext(Locale.JAPAN));
+        resolver.setLocaleContext(request, response, new SimpleLocaleContext(Locale.JAPAN));
+        Assertions.assertEquals(1, response.getHeaders(HttpHeaders.SET_COOKIE).size());
+    }
+
+    @Test
+    void writeWithoutAvoidance() {
+        resolver.setWriteAvoidance(false);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(new Cookie(COOKIE_NAME, "zh-CN"));    // $NON-NLS-1$
+        resolver.setLocaleContext(request, response, new SimpleLocaleContext(Locale.SIMPLIFIED_CHINESE));
+        Assertions.assertEquals(1, response.getHeaders(HttpHeaders.SET_COOKIE).size());
+    }
+
+    @Test
+    void sameCookieAsSpring() {
+        resolver.setWriteAvoidance(false);
+        CookieLocaleResolver spring = new CookieLocaleResolver(COOKIE_NAME);
+        spring.setDefaultLocale(Locale.US);
+        for (CookieLocaleResolver target : new CookieLocaleResolver[] {resolver, spring}) {
+            target.setCookiePath("/app");    // $NON-NLS-1$
+            target.setCookieDomain("example.com");    // $NON-NLS-1$
+            target.setCookieSecure(true);
+            target.setCookieHttpOnly(true);
+            target.setCookieSameSite("Strict");    // $NON-NLS-1$
+        }
+        LocaleContext[] contexts = {new SimpleLocaleContext(Locale.JAPAN), new SimpleTimeZoneAwareLocaleContext(Locale.JAPAN, TimeZone.getTimeZone("Asia/Tokyo"))};    // $NON-NLS-1$
+        for (LocaleContext context : contexts) {
+            MockHttpServletRequest request = new MockHttpServletRequest();
+            request.setCookies(new Cookie(COOKIE_NAME, "zh-CN/Asia/Shanghai"));    // $NON-NLS-1$
+            MockHttpServletResponse expected = new MockHttpServletResponse();
+            MockHttpServletResponse actual = new MockHttpServletResponse();
+            spring.setLocaleContext(request, expected, context);
+            resolver.setLocaleContext(request, actual, context);
+            Assertions.assertEquals(expected.getHeaders(HttpHeaders.SET_COOKIE), actual.getHeaders(HttpHeaders.SET_COOKIE));
+            Assertions.assertEquals(Locale.JAPAN, resolver.resolveLocale(request));
+        }
+    }
+}
@@ -0,0 +1,250 @@
+/*
+ * Copyright (c) 2022 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.springstarter.localechange.resolver;
+
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TimeZone;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.i18n.LocaleContext;
+import org.springframework.context.i18n.SimpleLocaleContext;
+import org.springframework.context.i18n.SimpleTimeZoneAwareLocaleContext;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.session.MapSession;
+import org.springframework.session.MapSessionRepository;
+import org.springframework.session.Session;
+import org.springframework.session.SessionRepository;
+import org.springframework.session.web.http.HeaderHttpSessionIdResolver;
+import org.springframework.session.web.http.SessionRepositoryFilter;
+
+
+/**
+ * Tests for {@link com.yookue.springstarter.localechange.resolver.SessionLocaleContextResolver}
+ * <p>
+ * Runs the requests through Spring Session, and counts the saves and the dirty attributes of the session,
+ * which are the expensive part when the sessions are kept in a shared store
+ *
+ * @author David Hsing
+ */
+class SessionLocaleContextResolverTest {
+    private static final TimeZone SHANGHAI = TimeZone.getTimeZone("Asia/Shanghai");    // $NON-NLS-1$
+    private static final TimeZone TOKYO = TimeZone.getTimeZone("Asia/Tokyo");    // $NON-NLS-1$
+    private static final String SESSION_HEADER = "X-Auth-Token";    // $NON-NLS-1$
+    private SessionLocaleContextResolver resolver;
+    private CountingSessionRepository repository;
+    private SessionRepositoryFilter<CountingSession> filter;
+    private String sessionId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        resolver = new SessionLocaleContextResolver();
+        resolver.setDefaultLocale(Locale.US);
+        repository = new CountingSessionRepository();
+        filter = new SessionRepositoryFilter<>(repository);
+        filter.setHttpSessionIdResolver(HeaderHttpSessionIdResolver.xAuthToken());
+        sessionId = request(null, new SimpleTimeZoneAwareLocaleContext(Locale.SIMPLIFIED_CHINESE, SHANGHAI)).getHeader(SESSION_HEADER);
+        Assertions.assertNotNull(sessionId);
+        repository.reset();
+    }
+
+    @Test
+    void unchangedLocale() throws Exception {
+        request(sessionId, new SimpleTimeZoneAwareLocaleContext(Locale.SIMPLIFIED_CHINESE, SHANGHAI));
+        Assertions.assertEquals(1, repository.getSaves());
+        Assertions.assertTrue(repository.getDirtyAttributes().isEmpty());
+    }
+
+    @Test
+    void changedLocale() throws Exception {
+        request(sessionId, new SimpleTimeZoneAwareLocaleContext(Locale.JAPAN, SHANGHAI));
+        Assertions.assertEquals(1, repository.getSaves());
+        Assertions.assertEquals(Set.of(resolver.getLocaleAttributeName()), repository.getDirtyAttributes());
+        Assertions.assertEquals("ja-JP Asia/Shanghai", repository.findById(sessionId).getAttribute(resolver.getLocaleAttributeName()));    // $NON-NLS-1$
+    }
+
+    @Test
+    void changedTimeZone() throws Exception {
+        request(sessionId, new SimpleTimeZoneAwareLocaleContext(Locale.SIMPLIFIED_CHINESE, TOKYO));
+        Assertions.assertEquals(1, repository.getSaves());
+        Assertions.assertEquals(Set.of(resolver.getLocaleAttributeName()), repository.getDirtyAttributes());
+        Assertions.assertEquals("zh-CN Asia/Tokyo", repository.findById(sessionId).getAttribute(resolver.getLocaleAttributeName()));    // $NON-NLS-1$
+    }
+
+    @Test
+    void defaultLocaleWithoutSession() throws Exception {
+        MockHttpServletResponse response = request(null, new SimpleLocaleContext(Locale.US));
+        Assertions.assertNull(response.getHeader(SESSION_HEADER));
+        Assertions.assertEquals(0, repository.getSaves());
+    }
+
+    /**
+     * Sets the locale context in a request of the session (if any) through the session repository filter
+     */
+    @Nonnull
+    private MockHttpServletResponse request(@Nullable String session, @Nonnull LocaleContext context) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        if (session != null) {
+            request.addHeader(SESSION_HEADER, session);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        HttpServlet servlet = new HttpServlet() {
+            @Override
+            protected void service(@Nonnull HttpServletRequest req, @Nonnull HttpServletResponse resp) {
+                resolver.setLocaleContext(req, resp, context);
+            }
+        };
+        filter.doFilter(request, response, new MockFilterChain(servlet));
+        return response;
+    }
+
+
+    /**
+     * Session repository that counts the saves, and the attributes that are written before the saves, which a delta writing store would send
+     */
+    private static class CountingSessionRepository implements SessionRepository<CountingSession> {
+        private final MapSessionRepository delegate = new MapSessionRepository(new HashMap<>());
+        private final Set<String> dirtyAttributes = new HashSet<>();
+        private int saves;
+
+        @Override
+        public CountingSession createSession() {
+            return new CountingSession(delegate.createSession());
+        }
+
+        @Override
+        public void save(@Nonnull CountingSession session) {
+            saves++;
+            dirtyAttributes.addAll(session.dirtyAttributes);
+            session.dirtyAttributes.clear();
+            delegate.save(session.delegate);
+        }
+
+        @Override
+        public CountingSession findById(@Nonnull String id) {
+            MapSession session = delegate.findById(id);
+            return (session == null) ? null : new CountingSession(session);
+        }
+
+        @Override
+        public void deleteById(@Nonnull String id) {
+            delegate.deleteById(id);
+        }
+
+        int getSaves() {
+            return saves;
+        }
+
+        @Nonnull
+        Set<String> getDirtyAttributes() {
+            return dirtyAttributes;
+        }
+
+        void reset() {
+            saves = 0;
+            dirtyAttributes.clear();
+        }
+    }
+
+
+    /**
+     * Session that records the names of the attributes that are set or removed
+     */
+    private static class CountingSession implements Session {
+        private final MapSession delegate;
+        private final Set<String> dirtyAttributes = new HashSet<>();
+
+        CountingSession(@Nonnull MapSession delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public String getId() {
+            return delegate.getId();
+        }
+
+        @Override
+        public String changeSessionId() {
+            return delegate.changeSessionId();
+        }
+
+        @Override
+        public <T> T getAttribute(String attributeName) {
+            return delegate.getAttribute(attributeName);
+        }
+
+        @Override
+        public Set<String> getAttributeNames() {
+            return delegate.getAttributeNames();
+        }
+
+        @Override
+        public void setAttribute(String attributeName, Object attributeValue) {
+            dirtyAttributes.add(attributeName);
+            delegate.setAttribute(attributeName, attributeValue);
+        }
+
+        @Override
+        public void removeAttribute(String attributeName) {
+            dirtyAttributes.add(attributeName);
+            delegate.removeAttribute(attributeName);
+        }
+
+        @Override
+        public Instant getCreationTime() {
+            return delegate.getCreationTime();
+        }
+
+        @Override
+        public void setLastAccessedTime(Instant lastAccessedTime) {
+            delegate.setLastAccessedTime(lastAccessedTime);
+        }
+
+        @Override
+        public Instant getLastAccessedTime() {
+            return delegate.getLastAccessedTime();
+        }
+
+        @Override
+        public void setMaxInactiveInterval(Duration interval) {
+            delegate.setMaxInactiveInterval(interval);
+        }
+
+        @Override
+        public Duration getMaxInactiveInterval() {
+            return delegate.getMaxInactiveInterval();
+        }
+
+        @Override
+        public boolean isExpired() {
+            return delegate.isExpired();
+        }
+    }
+}
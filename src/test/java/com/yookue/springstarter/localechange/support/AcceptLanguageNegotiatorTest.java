@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2022 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.springstarter.localechange.support;
+
+
+import java.util.List;
+import java.util.Locale;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+
+/**
+ * Tests for {@link com.yookue.springstarter.localechange.support.AcceptLanguageNegotiator}
+ *
+ * @author David Hsing
+ */
+class AcceptLanguageNegotiatorTest {
+    private final AcceptLanguageNegotiator negotiator = new AcceptLanguageNegotiator(List.of(Locale.US, Locale.SIMPLIFIED_CHINESE, Locale.TRADITIONAL_CHINESE, Locale.JAPANESE));
+
+    @Test
+    void exactRange() {
+        Assertions.assertEquals(Locale.TRADITIONAL_CHINESE, negotiator.negotiate("zh-TW,zh;q=0.9,en;q=0.8"));    // $NON-NLS-1$
+        Assertions.assertEquals(Locale.US, negotiator.negotiate("EN-us"));    // $NON-NLS-1$
+    }
+
+    @Test
+    void weightOrder() {
+        Assertions.assertEquals(Locale.SIMPLIFIED_CHINESE, negotiator.negotiate("en-US;q=0.5, zh-CN;q=0.8, *;q=0.1"));    // $NON-NLS-1$
+        Assertions.assertEquals(Locale.US, negotiator.negotiate("zh-CN;q=0, en-US"));    // $NON-NLS-1$
+    }
+
+    @Test
+    void truncatedRange() {
+        Assertions.assertEquals(Locale.JAPANESE, negotiator.negotiate("ja-JP"));    // $NON-NLS-1$
+        Assertions.assertEquals(Locale.TRADITIONAL_CHINESE, negotiator.negotiate("zh-TW-x-private"));    // $NON-NLS-1$
+    }
+
+    @Test
+    void languageRange() {
+        Assertions.assertEquals(Locale.US, negotiator.negotiate("en-GB"));    // $NON-NLS-1$
+        Assertions.assertEquals(Locale.SIMPLIFIED_CHINESE, negotiator.negotiate("zh-HK"));    // $NON-NLS-1$
+    }
+
+    @Test
+    void unacceptableRange() {
+        Assertions.assertNull(negotiator.negotiate("fr-FR,de;q=0.5"));    // $NON-NLS-1$
+        Assertions.assertNull(negotiator.negotiate("*"));    // $NON-NLS-1$
+        Assertions.assertNull(negotiator.negotiate(" "));    // $NON-NLS-1$
+    }
+
+    @Test
+    void memorizedResults() {
+        negotiator.negotiate("fr-FR,de;q=0.5");    // $NON-NLS-1$
+        negotiator.negotiate("fr-FR,de;q=0.5");    // $NON-NLS-1$
+        Assertions.assertEquals(1L, negotiator.getNegotiationCache().getHitCount());
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2022 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.springstarter.localechange.support;
+
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+
+/**
+ * Tests for {@link com.yookue.springstarter.localechange.support.BoundedConcurrentCache}
+ *
+ * @author David Hsing
+ */
+class BoundedConcurrentCacheTest {
+    @Test
+    void loadOnce() {
+        BoundedConcurrentCache<String, String> cache = new BoundedConcurrentCache<>(16);
+        AtomicInteger loads = new AtomicInteger();
+        Assertions.assertEquals("A", cache.get("a", key -> {    // $NON-NLS-1$
+            loads.incrementAndGet();
+            return key.toUpperCase();
+        }));
+        Assertions.assertEquals("A", cache.get("a", key -> {    // $NON-NLS-1$
+            loads.incrementAndGet();
+            return key.toUpperCase();
+        }));
+        Assertions.assertEquals(1, loads.get());
+        Assertions.assertEquals(1L, cache.getHitCount());
+        Assertions.assertEquals(1L, cache.getMissCount());
+    }
+
+    @Test
+    void cacheNullResults() {
+        BoundedConcurrentCache<String, String> cache = new BoundedConcurrentCache<>(16);
+        AtomicInteger loads = new AtomicInteger();
+        for (int i = 0; i < 3; i++) {
+            Assertions.assertNull(cache.get("missing", key -> {    // $NON-NLS-1$
+                loads.incrementAndGet();
+                return null;
+            }));
+        }
+        Assertions.assertEquals(1, loads.get());
+        Assertions.assertEquals(1, cache.size());
+    }
+
+    @Test
+    void boundedSize() {
+        BoundedConcurrentCache<Integer, Integer> cache = new BoundedConcurrentCache<>(64);
+        for (int i = 0; i < 10_000; i++) {
+            cache.get(i, key -> key);
+        }
+        Assertions.assertTrue(cache.size() <= cache.getMaximumSize());
+        Assertions.assertTrue(cache.getEvictionCount() > 0L);
+        cache.put(-1, null);
+        Assertions.assertTrue(cache.size() <= cache.getMaximumSize());
+    }
+
+    @Test
+    void hotKeySurvivesFlood() {
+        BoundedConcurrentCache<String, String> cache = new BoundedConcurrentCache<>(64);
+        AtomicInteger loads = new AtomicInteger();
+        for (int i = 0; i < 100_000; i++) {
+            cache.get("zh-CN", key -> {    // $NON-NLS-1$
+                loads.incrementAndGet();
+                return key;
+            });
+            cache.get("flood-" + i, key -> key);    // $NON-NLS-1$
+        }
+        Assertions.assertEquals(1, loads.get());
+        Assertions.assertTrue(cache.size() <= cache.getMaximumSize());
+    }
+
+    @Test
+    void invalidateAndClear() {
+        BoundedConcurrentCache<String, String> cache = new BoundedConcurrentCache<>(16);
+        cache.put("a", "A");    // $NON-NLS-1$ // $NON-NLS-2$
+        cache.put("b", "B");    // $NON-NLS-1$ // $NON-NLS-2$
+        cache.invalidate("a");    // $NON-NLS-1$
+        Assertions.assertNull(cache.getIfPresent("a"));    // $NON-NLS-1$
+        Assertions.assertEquals("B", cache.getIfPresent("b"));    // $NON-NLS-1$ // $NON-NLS-2$
+        cache.clear();
+        Assertions.assertEquals(0, cache.size());
+    }
+
+    @Test
+    void rejectNonPositiveSize() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new BoundedConcurrentCache<>(0));
+    }
+}
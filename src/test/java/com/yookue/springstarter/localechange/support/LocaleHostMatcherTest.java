@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2022 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.springstarter.localechange.support;
+
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+
+/**
+ * Tests for {@link com.yookue.springstarter.localechange.support.LocaleHostMatcher}
+ *
+ * @author David Hsing
+ */
+class LocaleHostMatcherTest {
+    private final LocaleHostMatcher matcher = newMatcher();
+
+    @Test
+    void exactHost() {
+        Assertions.assertEquals(Locale.GERMANY, matcher.match("de.example.com"));    // $NON-NLS-1$
+        Assertions.assertEquals(Locale.GERMANY, matcher.match("DE.Example.com."));    // $NON-NLS-1$
+        Assertions.assertEquals("de.example.com", matcher.getHost(Locale.GERMANY));    // $NON-NLS-1$
+    }
+
+    @Test
+    void wildcardSubdomain() {
+        Assertions.assertEquals(Locale.FRANCE, matcher.match("shop.example.fr"));    // $NON-NLS-1$
+        Assertions.assertEquals(Locale.FRANCE, matcher.match("a.b.example.fr"));    // $NON-NLS-1$
+        Assertions.assertNull(matcher.match("example.fr"));    // $NON-NLS-1$
+    }
+
+    @Test
+    void wildcardDomain() {
+        Assertions.assertEquals(Locale.JAPAN, matcher.match("ja.example.org"));    // $NON-NLS-1$
+        Assertions.assertNull(matcher.match("www.example.org"));    // $NON-NLS-1$
+        Assertions.assertNull(matcher.match(null));
+    }
+
+    @Test
+    void canonicalLocales() {
+        Assertions.assertSame(matcher.match("de.example.com"), matcher.match("de.example.net"));    // $NON-NLS-1$ // $NON-NLS-2$
+    }
+
+    private static LocaleHostMatcher newMatcher() {
+        Map<String, String> hostLocales = new LinkedHashMap<>();
+        hostLocales.put("de.example.com", "de-DE");    // $NON-NLS-1$ // $NON-NLS-2$
+        hostLocales.put("de.example.net", "de_DE");    // $NON-NLS-1$ // $NON-NLS-2$
+        hostLocales.put("*.example.fr", "fr-FR");    // $NON-NLS-1$ // $NON-NLS-2$
+        hostLocales.put("ja.*", "ja-JP");    // $NON-NLS-1$ // $NON-NLS-2$
+        return new LocaleHostMatcher(hostLocales, new LocaleTagRegistry(Map.of("de-DE", "Deutsch", "fr-FR", "Français", "ja-JP", "日本語")));    // $NON-NLS-1$ // $NON-NLS-2$ // $NON-NLS-3$ // $NON-NLS-4$ // $NON-NLS-5$ // $NON-NLS-6$
+    }
+}
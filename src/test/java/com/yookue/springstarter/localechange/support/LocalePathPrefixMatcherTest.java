@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2022 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.springstarter.localechange.support;
+
+
+import java.util.Locale;
+import java.util.Map;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+
+/**
+ * Tests for {@link com.yookue.springstarter.localechange.support.LocalePathPrefixMatcher}
+ *
+ * @author David Hsing
+ */
+class LocalePathPrefixMatcherTest {
+    private final LocalePathPrefixMatcher matcher = new LocalePathPrefixMatcher(new LocaleTagRegistry(Map.of("en", "English", "zh_CN", "简体中文")));    // $NON-NLS-1$ // $NON-NLS-2$ // $NON-NLS-3$ // $NON-NLS-4$
+
+    @Test
+    void matchPrefix() {
+        LocalePathPrefixMatcher.Match match = matcher.match("/zh_CN/products");    // $NON-NLS-1$
+        Assertions.assertNotNull(match);
+        Assertions.assertEquals(Locale.SIMPLIFIED_CHINESE, match.locale());
+        Assertions.assertEquals("zh_CN", match.languageTag());    // $NON-NLS-1$
+        Assertions.assertEquals(6, match.length());
+    }
+
+    @Test
+    void matchCanonicalTag() {
+        LocalePathPrefixMatcher.Match match = matcher.match("/ZH-cn");    // $NON-NLS-1$
+        Assertions.assertNotNull(match);
+        Assertions.assertEquals(Locale.SIMPLIFIED_CHINESE, match.locale());
+        Assertions.assertEquals(6, match.length());
+    }
+
+    @Test
+    void segmentBoundary() {
+        Assertions.assertNotNull(matcher.match("/en/"));    // $NON-NLS-1$
+        Assertions.assertNull(matcher.match("/english"));    // $NON-NLS-1$
+        Assertions.assertNull(matcher.match("/zh"));    // $NON-NLS-1$
+        Assertions.assertNull(matcher.match("en/products"));    // $NON-NLS-1$
+        Assertions.assertNull(matcher.match("/"));    // $NON-NLS-1$
+        Assertions.assertNull(matcher.match(null));
+    }
+}
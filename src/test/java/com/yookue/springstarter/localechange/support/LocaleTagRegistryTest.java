@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2022 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.springstarter.localechange.support;
+
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+
+/**
+ * Tests for {@link com.yookue.springstarter.localechange.support.LocaleTagRegistry}
+ *
+ * @author David Hsing
+ */
+class LocaleTagRegistryTest {
+    @Test
+    void supportedLocales() {
+        LocaleTagRegistry registry = newRegistry("en-US", "zh_CN");    // $NON-NLS-1$ // $NON-NLS-2$
+        Assertions.assertEquals(2, registry.size());
+        Assertions.assertEquals(1, registry.idOf(Locale.SIMPLIFIED_CHINESE));
+        Assertions.assertEquals(1, registry.idOf("zh_CN"));    // $NON-NLS-1$
+        Assertions.assertEquals(1, registry.idOf("zh-CN"));    // $NON-NLS-1$
+        Assertions.assertEquals("zh_CN", registry.getLanguageTag(1));    // $NON-NLS-1$
+        Assertions.assertSame(registry.getLocale(1), registry.canonicalize(Locale.forLanguageTag("zh-CN")));    // $NON-NLS-1$
+        Assertions.assertEquals(LocaleTagRegistry.NOT_FOUND, registry.idOf(Locale.JAPAN));
+    }
+
+    @Test
+    void scriptRegionFallback() {
+        LocaleTagRegistry registry = newRegistry("en-US", "zh-TW", "zh-CN");    // $NON-NLS-1$ // $NON-NLS-2$ // $NON-NLS-3$
+        Assertions.assertEquals(registry.idOf("zh-TW"), registry.negotiate(Locale.forLanguageTag("zh-Hant-TW")));    // $NON-NLS-1$ // $NON-NLS-2$
+        Assertions.assertEquals(registry.idOf("zh-TW"), registry.negotiate(Locale.forLanguageTag("zh-Hant")));    // $NON-NLS-1$ // $NON-NLS-2$
+        Assertions.assertEquals(registry.idOf("zh-TW"), registry.negotiate(Locale.forLanguageTag("zh-HK")));    // $NON-NLS-1$ // $NON-NLS-2$
+        Assertions.assertEquals(registry.idOf("zh-CN"), registry.negotiate(Locale.forLanguageTag("zh-SG")));    // $NON-NLS-1$ // $NON-NLS-2$
+    }
+
+    @Test
+    void languageFallback() {
+        LocaleTagRegistry registry = newRegistry("zh-CN", "en-US", "zh-TW");    // $NON-NLS-1$ // $NON-NLS-2$ // $NON-NLS-3$
+        Assertions.assertEquals(registry.idOf("en-US"), registry.negotiate(Locale.UK));    // $NON-NLS-1$
+        Assertions.assertEquals(registry.idOf("zh-CN"), registry.negotiate(Locale.CHINESE));    // $NON-NLS-1$
+        Assertions.assertEquals(LocaleTagRegistry.NOT_FOUND, registry.negotiate(Locale.FRANCE));
+        Assertions.assertEquals(LocaleTagRegistry.NOT_FOUND, registry.negotiate(null));
+    }
+
+    @Test
+    void scriptFallback() {
+        LocaleTagRegistry registry = newRegistry("zh-Hans", "zh-Hant");    // $NON-NLS-1$ // $NON-NLS-2$
+        Assertions.assertEquals(registry.idOf("zh-Hant"), registry.negotiate(Locale.forLanguageTag("zh-HK")));    // $NON-NLS-1$ // $NON-NLS-2$
+        Assertions.assertEquals(registry.idOf("zh-Hans"), registry.negotiate(Locale.SIMPLIFIED_CHINESE));    // $NON-NLS-1$
+    }
+
+    private static LocaleTagRegistry newRegistry(String... languageTags) {
+        Map<String, String> tagNames = new LinkedHashMap<>();
+        for (String languageTag : languageTags) {
+            tagNames.put(languageTag, languageTag);
+        }
+        return new LocaleTagRegistry(tagNames);
+    }
+}
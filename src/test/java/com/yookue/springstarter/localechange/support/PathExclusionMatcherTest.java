@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2022 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.springstarter.localechange.support;
+
+
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+
+/**
+ * Tests for {@link com.yookue.springstarter.localechange.support.PathExclusionMatcher}
+ *
+ * @author David Hsing
+ */
+class PathExclusionMatcherTest {
+    private final PathExclusionMatcher matcher = PathExclusionMatcher.compile(List.of("/favicon.ico", "/static/**", "/**/*.css", "/api/*/health", "/error"));    // $NON-NLS-1$ // $NON-NLS-2$ // $NON-NLS-3$ // $NON-NLS-4$ // $NON-NLS-5$
+
+    @Test
+    void exactPaths() {
+        Assertions.assertTrue(matcher.matches("/favicon.ico"));    // $NON-NLS-1$
+        Assertions.assertTrue(matcher.matches("/error"));    // $NON-NLS-1$
+        Assertions.assertFalse(matcher.matches("/errors"));    // $NON-NLS-1$
+    }
+
+    @Test
+    void prefixPaths() {
+        Assertions.assertTrue(matcher.matches("/static"));    // $NON-NLS-1$
+        Assertions.assertTrue(matcher.matches("/static/js/app.js"));    // $NON-NLS-1$
+        Assertions.assertFalse(matcher.matches("/statics/app.js"));    // $NON-NLS-1$
+    }
+
+    @Test
+    void suffixPaths() {
+        Assertions.assertTrue(matcher.matches("/themes/dark/site.css"));    // $NON-NLS-1$
+        Assertions.assertFalse(matcher.matches("/themes/dark/site.css.map"));    // $NON-NLS-1$
+    }
+
+    @Test
+    void patternPaths() {
+        Assertions.assertTrue(matcher.matches("/api/v1/health"));    // $NON-NLS-1$
+        Assertions.assertFalse(matcher.matches("/api/v1/v2/health"));    // $NON-NLS-1$
+        Assertions.assertFalse(matcher.matches("/"));    // $NON-NLS-1$
+    }
+
+    @Test
+    void requestPaths() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/app/static/logo.png");    // $NON-NLS-1$ // $NON-NLS-2$
+        request.setContextPath("/app");    // $NON-NLS-1$
+        request.setServletPath("/static/logo.png");    // $NON-NLS-1$
+        Assertions.assertTrue(matcher.matches(request));
+    }
+
+    @Test
+    void emptyPatterns() {
+        PathExclusionMatcher empty = PathExclusionMatcher.compile(null);
+        Assertions.assertTrue(empty.isEmpty());
+        Assertions.assertFalse(empty.matches("/static/app.js"));    // $NON-NLS-1$
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2022 Yookue Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yookue.springstarter.localechange.support;
+
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+
+/**
+ * Tests for {@link com.yookue.springstarter.localechange.support.TopValuesSketch}
+ *
+ * @author David Hsing
+ */
+class TopValuesSketchTest {
+    @Test
+    void heavyHitters() {
+        TopValuesSketch sketch = new TopValuesSketch(4, 256);
+        for (int i = 0; i < 10_000; i++) {
+            sketch.add((i % 2 == 0) ? "zh-CN" : (i % 5 == 0) ? "en-US" : "noise-" + i);    // $NON-NLS-1$ // $NON-NLS-2$ // $NON-NLS-3$
+        }
+        List<TopValuesSketch.ValueCount> values = sketch.getTopValues();
+        Assertions.assertEquals("zh-CN", values.get(0).value());    // $NON-NLS-1$
+        Assertions.assertEquals("en-US", values.get(1).value());    // $NON-NLS-1$
+        Assertions.assertTrue(values.get(0).count() >= 5_000L);
+        Assertions.assertTrue(values.get(1).count() >= 1_000L);
+        Assertions.assertTrue(values.size() <= 4);
+    }
+
+    @Test
+    void neverUnderestimate() {
+        TopValuesSketch sketch = new TopValuesSketch(4, 64);
+        for (int i = 0; i < 1_000; i++) {
+            sketch.add("value-" + (i % 100));    // $NON-NLS-1$
+        }
+        for (int i = 0; i < 100; i++) {
+            Assertions.assertTrue(sketch.estimate("value-" + i) >= 10L);    // $NON-NLS-1$
+        }
+    }
+
+    @Test
+    void concurrentAdds() throws Exception {
+        TopValuesSketch sketch = new TopValuesSketch();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            executor.execute(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    sketch.add("ja-JP");    // $NON-NLS-1$
+                }
+            });
+        }
+        executor.shutdown();
+        Assertions.assertTrue(executor.awaitTermination(30L, TimeUnit.SECONDS));
+        Assertions.assertEquals(40_000L, sketch.estimate("ja-JP"));    // $NON-NLS-1$
+        Assertions.assertEquals("ja-JP", sketch.getTopValues().get(0).value());    // $NON-NLS-1$
+    }
+
+    @Test
+    void truncateAndClear() {
+        TopValuesSketch sketch = new TopValuesSketch();
+        sketch.add(StringUtils.repeat('x', TopValuesSketch.MAX_VALUE_LENGTH * 2));
+        Assertions.assertEquals(TopValuesSketch.MAX_VALUE_LENGTH, sketch.getTopValues().get(0).value().length());
+        sketch.clear();
+        Assertions.assertTrue(sketch.getTopValues().isEmpty());
+    }
+}